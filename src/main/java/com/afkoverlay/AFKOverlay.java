@@ -8,29 +8,217 @@ import net.runelite.client.ui.overlay.OverlayPriority;
 
 import javax.inject.Inject;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Draws the overlay rows inside the game canvas, for players who prefer it to a separate window.
+ * It shows the snapshot the plugin publishes to the floating window, with the same rows,
+ * fonts and highlights. Row text, colors and icons are rebuilt only when the snapshot or
+ * settings change, so the per-frame render path only draws cached values.
+ */
 public class AFKOverlay extends Overlay {
+    private static final int PADDING = 6;
+    private static final int ROW_SPACING = 2;
+    private static final int MAX_ROWS = 10 + SkillLevels.SKILLS.length;
+
     private final Client client;
-    private final PlayerInfo playerInfo;
+    private final AFKOverlayConfig config;
+    private final OverlayLayout layout = new OverlayLayout(FloatingOverlayWindow.Constants.MIN_HEIGHT, FloatingOverlayWindow.Constants.MAX_HEIGHT);
+    private final ScaledIconCache iconCache = new ScaledIconCache(FloatingOverlayWindow.Constants.MIN_ICON_SIZE, FloatingOverlayWindow.Constants.MAX_ICON_SIZE);
+    private final Font font = layout.getFontForSize(FloatingOverlayWindow.Constants.MIN_FONT_SIZE);
+    private final int iconSize = FloatingOverlayWindow.Constants.MIN_ICON_SIZE;
+    // Loaded on the first rebuild, so nothing is loaded while the overlay is off
+    private boolean iconsLoaded;
+    private Image hpIcon;
+    private Image prayerIcon;
+    private Image inventoryIcon;
+    private Image specialAttackIcon;
+    private Image protectMeleeIcon;
+    private Image protectMagicIcon;
+    private Image protectRangedIcon;
+
+    // Published by the plugin; every change bumps the version
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile PlayerInfo snapshot;
+    private volatile AlertThresholds thresholds;
+    private volatile int rowMask;
+    private volatile long skillMask;
+
+    // Render cache, only touched on the client thread
+    private int renderedVersion = -1;
+    private final String[] rowTexts = new String[MAX_ROWS];
+    private final Color[] rowColors = new Color[MAX_ROWS];
+    private final Image[] rowIcons = new Image[MAX_ROWS];
+    private int rowCount;
+    private int rowHeight;
+    private int baseline;
+    private Color backgroundColor;
+    private Color defaultBackground;
+    private final Dimension size = new Dimension();
 
     @Inject
-    public AFKOverlay(Client client, PlayerInfo playerInfo) {
+    public AFKOverlay(Client client, AFKOverlayConfig config) {
         this.client = client;
-        this.playerInfo = playerInfo;
-        
+        this.config = config;
+        this.thresholds = AlertThresholds.fromConfig(config);
+        this.rowMask = OverlayProfile.rowMaskFromConfig(config);
+        this.skillMask = SkillLevels.parseSkillMask(config.skillRows());
+
         setPosition(OverlayPosition.TOP_LEFT);
         setLayer(OverlayLayer.ABOVE_WIDGETS);
         setPriority(OverlayPriority.HIGH);
     }
 
+    private void loadIcons() {
+        hpIcon = scaledIcon("/com/icons/Hitpoints_icon.png", FloatingOverlayWindow.Constants.HP_COLOR);
+        prayerIcon = scaledIcon("/com/icons/Prayer_icon.png", FloatingOverlayWindow.Constants.PRAYER_COLOR);
+        inventoryIcon = scaledIcon("/com/icons/Inventory.png", new Color(150, 150, 150));
+        specialAttackIcon = scaledIcon("/com/icons/Special_attack_orb.png", new Color(150, 150, 150));
+        protectMeleeIcon = scaledIcon("/com/icons/prayers/Protect_from_Melee.png", new Color(255, 100, 100));
+        protectMagicIcon = scaledIcon("/com/icons/prayers/Protect_from_Magic.png", new Color(100, 100, 255));
+        protectRangedIcon = scaledIcon("/com/icons/prayers/Protect_from_Missiles.png", new Color(100, 255, 100));
+        iconsLoaded = true;
+    }
+
+    private Image scaledIcon(String path, Color fallbackColor) {
+        BufferedImage source = FloatingOverlayWindow.loadIcon(path, fallbackColor);
+        return source != null ? iconCache.get(source, iconSize).getImage() : null;
+    }
+
+    public void setSnapshot(PlayerInfo snapshot) {
+        this.snapshot = snapshot;
+        version.incrementAndGet();
+    }
+
+    public void setThresholds(AlertThresholds thresholds) {
+        this.thresholds = thresholds;
+        version.incrementAndGet();
+    }
+
+    public void setRowMask(int rowMask) {
+        this.rowMask = rowMask;
+        version.incrementAndGet();
+    }
+
+    /**
+     * Picks up changed settings on the next frame.
+     */
+    public void updateConfig() {
+        this.skillMask = SkillLevels.parseSkillMask(config.skillRows());
+        version.incrementAndGet();
+    }
+
     @Override
     public Dimension render(Graphics2D graphics) {
-        if (client.getGameState() != net.runelite.api.GameState.LOGGED_IN) {
+        PlayerInfo info = snapshot;
+        if (!config.showInGameOverlay() || info == null || client.getGameState() != net.runelite.api.GameState.LOGGED_IN) {
             return null;
         }
 
-        // This overlay is currently not used since we're using a floating window
-        // but it's here for potential future use or as a fallback
-        return null;
+        int currentVersion = version.get();
+        if (currentVersion != renderedVersion) {
+            rebuild(graphics, info);
+            renderedVersion = currentVersion;
+        }
+
+        graphics.setColor(backgroundColor);
+        graphics.fillRect(0, 0, size.width, size.height);
+        graphics.setFont(font);
+
+        int y = PADDING;
+        int textX = PADDING + iconSize + FloatingOverlayWindow.Constants.ICON_TEXT_GAP;
+        for (int i = 0; i < rowCount; i++) {
+            if (rowIcons[i] != null) {
+                graphics.drawImage(rowIcons[i], PADDING, y + (rowHeight - iconSize) / 2, null);
+            }
+            graphics.setColor(rowColors[i]);
+            graphics.drawString(rowTexts[i], textX, y + baseline);
+            y += rowHeight + ROW_SPACING;
+        }
+        return size;
+    }
+
+    /**
+     * Lays out the visible rows in the floating window's order and caches their text, color and icon.
+     */
+    private void rebuild(Graphics2D graphics, PlayerInfo info) {
+        if (!iconsLoaded) {
+            loadIcons();
+        }
+
+        int mask = rowMask;
+        rowCount = 0;
+        if ((mask & OverlayProfile.ROW_HP) != 0) {
+            addRow(info.getHpText(), OverlayHighlight.getColorForPercentage(info.getHpPercentage(), FloatingOverlayWindow.Constants.DARK_TEXT_COLOR), hpIcon);
+        }
+        if ((mask & OverlayProfile.ROW_DAMAGE) != 0) {
+            addRow(info.getDamageText(), OverlayHighlight.getDamageColor(info), null);
+        }
+        if ((mask & OverlayProfile.ROW_PRAYER) != 0) {
+            addRow(info.getPrayerText(), OverlayHighlight.getPrayerColor(info), getPrayerIcon(info));
+        }
+        if ((mask & OverlayProfile.ROW_INVENTORY) != 0) {
+            addRow(info.getInventoryText(), OverlayHighlight.getInventoryColor(info), inventoryIcon);
+        }
+        if ((mask & OverlayProfile.ROW_SPECIAL_ATTACK) != 0) {
+            addRow(info.getSpecialAttackText(), OverlayHighlight.getColorForPercentage(info.getSpecialAttackEnergyPercentage(), FloatingOverlayWindow.Constants.DARK_TEXT_COLOR), specialAttackIcon);
+        }
+        if ((mask & OverlayProfile.ROW_TARGET) != 0) {
+            addRow(info.getTargetText(), OverlayHighlight.getTargetColor(info), null);
+        }
+        if ((mask & OverlayProfile.ROW_WATCHED_ITEM) != 0) {
+            addRow(info.getWatchedItemText(), OverlayHighlight.getWatchedItemColor(info, config.watchedItemThreshold()), null);
+        }
+        for (long remaining = skillMask; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            addRow(info.getSkillText(SkillLevels.SKILLS[index]),
+                OverlayHighlight.getSkillColor(info.getSkillBoosted()[index], info.getSkillReal()[index]), null);
+        }
+        if ((mask & OverlayProfile.ROW_XP_RATE) != 0) {
+            addRow(info.getXpRateText(), FloatingOverlayWindow.Constants.DARK_TEXT_COLOR, null);
+        }
+        if ((mask & OverlayProfile.ROW_BOOST) != 0) {
+            addRow(info.getBoostText(), OverlayHighlight.getBoostColor(info, config.boostMargin()), null);
+        }
+        if ((mask & OverlayProfile.ROW_STATUS) != 0) {
+            addRow("Status: " + info.getStatusText(), OverlayHighlight.getStatusColor(info), null);
+        }
+
+        FontMetrics fm = graphics.getFontMetrics(font);
+        rowHeight = Math.max(fm.getHeight(), iconSize);
+        baseline = (rowHeight - fm.getHeight()) / 2 + fm.getAscent();
+        int textWidth = 0;
+        for (int i = 0; i < rowCount; i++) {
+            textWidth = Math.max(textWidth, fm.stringWidth(rowTexts[i]));
+        }
+        size.width = PADDING * 2 + iconSize + FloatingOverlayWindow.Constants.ICON_TEXT_GAP + textWidth;
+        size.height = PADDING * 2 + rowCount * rowHeight + Math.max(0, rowCount - 1) * ROW_SPACING;
+
+        int opacity = config.opacity();
+        if (defaultBackground == null || defaultBackground.getAlpha() != opacity) {
+            defaultBackground = new Color(30, 30, 30, opacity);
+        }
+        backgroundColor = OverlayHighlight.getBackgroundColor(info, thresholds, config, defaultBackground);
+    }
+
+    private void addRow(String text, Color color, Image icon) {
+        rowTexts[rowCount] = text;
+        rowColors[rowCount] = color;
+        rowIcons[rowCount] = icon;
+        rowCount++;
+    }
+
+    private Image getPrayerIcon(PlayerInfo info) {
+        switch (info.getActiveProtectionPrayer()) {
+            case PrayerTracker.PROTECT_MELEE:
+                return protectMeleeIcon;
+            case PrayerTracker.PROTECT_MAGIC:
+                return protectMagicIcon;
+            case PrayerTracker.PROTECT_RANGED:
+                return protectRangedIcon;
+            default:
+                return prayerIcon;
+        }
     }
-} 
\ No newline at end of file
+}
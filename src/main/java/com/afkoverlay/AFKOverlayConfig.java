@@ -62,6 +62,15 @@ default boolean showHp() { return true; }
     )
     default boolean playHpSound() { return false; }
 
+    @ConfigItem(
+        keyName = "showDamageRate",
+        name = "Show Damage Taken",
+        description = "Display damage and healing per minute over the last minute, with the estimated time until HP runs out.",
+        section = hitpointsSection,
+        position = 6
+    )
+    default boolean showDamageRate() { return false; }
+
     // --- Prayer Section ---
     @ConfigSection(
         name = "Prayer",
@@ -242,6 +251,141 @@ default boolean showHp() { return true; }
     )
     default boolean playInvSound() { return false; }
 
+    // --- Combat Target Section ---
+    @ConfigSection(
+        name = "Combat Target",
+        description = "Track the NPC or player you are fighting.",
+        position = 46
+    )
+    String targetSection = "targetSection";
+
+    @ConfigItem(
+        keyName = "showTarget",
+        name = "Show Target",
+        description = "Display your combat target and its health in the overlay.",
+        section = targetSection,
+        position = 1
+    )
+    default boolean showTarget() { return false; }
+
+    @ConfigItem(
+        keyName = "playTargetDiedSound",
+        name = "Play sound on target death",
+        description = "Play a sound when your target dies, until you pick a new one.",
+        section = targetSection,
+        position = 2
+    )
+    default boolean playTargetDiedSound() { return false; }
+
+    @ConfigItem(
+        keyName = "noTargetAlertTicks",
+        name = "No target sound (ticks)",
+        description = "Play a sound when you have had no target for this many game ticks. 0 disables.",
+        section = targetSection,
+        position = 3
+    )
+    @Range(min = 0, max = 1000)
+    default int noTargetAlertTicks() { return 0; }
+
+    // --- Item Watch Section ---
+    @ConfigSection(
+        name = "Item Watch",
+        description = "Track how many of an item are left in the inventory and equipment.",
+        position = 47
+    )
+    String watchedItemSection = "watchedItemSection";
+
+    @ConfigItem(
+        keyName = "showWatchedItem",
+        name = "Show Watched Item",
+        description = "Display the watched item count in the overlay.",
+        section = watchedItemSection,
+        position = 1
+    )
+    default boolean showWatchedItem() { return false; }
+
+    @ConfigItem(
+        keyName = "watchedItemId",
+        name = "Item ID",
+        description = "ID of the item to count across the inventory and equipment, e.g. 385 for sharks. 0 disables.",
+        section = watchedItemSection,
+        position = 2
+    )
+    default int watchedItemId() { return 0; }
+
+    @ConfigItem(
+        keyName = "watchedItemThreshold",
+        name = "Threshold value",
+        description = "Warn when fewer than this many of the item are left.",
+        section = watchedItemSection,
+        position = 3
+    )
+    @Range(min = 1, max = Integer.MAX_VALUE)
+    default int watchedItemThreshold() { return 5; }
+
+    @ConfigItem(
+        keyName = "playWatchedItemSound",
+        name = "Play sound",
+        description = "Play a sound when fewer than the threshold of the item are left.",
+        section = watchedItemSection,
+        position = 4
+    )
+    default boolean playWatchedItemSound() { return false; }
+
+    // --- Skills Section ---
+    @ConfigSection(
+        name = "Skills",
+        description = "Show boosted and real levels of other skills.",
+        position = 48
+    )
+    String skillSection = "skillSection";
+
+    @ConfigItem(
+        keyName = "skillRows",
+        name = "Skill rows",
+        description = "Comma separated skills to show as rows, e.g. Attack, Strength, Defence. Leave empty for none.",
+        section = skillSection,
+        position = 1
+    )
+    default String skillRows() { return ""; }
+
+    @ConfigItem(
+        keyName = "showXpRate",
+        name = "Show XP Rate",
+        description = "Display XP/hour, actions/hour and time to the next level for the skill being trained.",
+        section = skillSection,
+        position = 2
+    )
+    default boolean showXpRate() { return false; }
+
+    @ConfigItem(
+        keyName = "showBoosts",
+        name = "Show Boosts",
+        description = "Display the boost that runs out first and the time until it expires.",
+        section = skillSection,
+        position = 3
+    )
+    default boolean showBoosts() { return false; }
+
+    @ConfigItem(
+        keyName = "boostMargin",
+        name = "Boost margin",
+        description = "Warn when a boosted skill falls below this many levels above its real level. 1 warns when the boost is gone.",
+        section = skillSection,
+        position = 4
+    )
+    @Range(min = 1, max = 30)
+    default int boostMargin() { return 1; }
+
+    @ConfigItem(
+        keyName = "playBoostSound",
+        name = "Play sound",
+        description = "Play a sound once per boost, a few seconds before it falls below the margin. Alert early adds more warning.",
+        section = skillSection,
+        position = 5
+    )
+    default boolean playBoostSound() { return false; }
+
     // --- Status Section ---
     @ConfigSection(
         name = "Status",
@@ -297,6 +441,158 @@ default boolean showHp() { return true; }
     )
     default boolean playIdleSound() { return false; }
 
+    @ConfigItem(
+        keyName = "logoutWarningSeconds",
+        name = "Logout warning (s)",
+        description = "Seconds before the 5 minute AFK logout at which the status shows LOGOUT.",
+        section = statusSection,
+        position = 6
+    )
+    @Range(min = 5, max = 240)
+    default int logoutWarningSeconds() { return 30; }
+
+    @ConfigItem(
+        keyName = "playLogoutSound",
+        name = "Play sound before logout",
+        description = "Play a sound when the AFK logout is about to happen.",
+        section = statusSection,
+        position = 7
+    )
+    default boolean playLogoutSound() { return false; }
+
+    // --- Predictions Section ---
+    @ConfigSection(
+        name = "Predictions",
+        description = "Predict when stats will reach their thresholds.",
+        position = 55
+    )
+    String predictionSection = "predictionSection";
+
+    @ConfigItem(
+        keyName = "showEta",
+        name = "Show time to threshold",
+        description = "Show the estimated time until HP and prayer reach their thresholds and the inventory is full.",
+        section = predictionSection,
+        position = 1
+    )
+    default boolean showEta() { return true; }
+
+    @ConfigItem(
+        keyName = "alertLeadSeconds",
+        name = "Alert early (s)",
+        description = "Play threshold sounds this many seconds before the threshold is predicted to be reached. 0 disables early alerts.",
+        section = predictionSection,
+        position = 2
+    )
+    @Range(min = 0, max = 300)
+    default int alertLeadSeconds() { return 0; }
+
+    // --- Region Profiles Section ---
+    @ConfigSection(
+        name = "Region Profiles",
+        description = "Use different thresholds in specific map regions.",
+        position = 57
+    )
+    String regionSection = "regionSection";
+
+    @ConfigItem(
+        keyName = "regionProfiles",
+        name = "Region thresholds",
+        description = "One entry per line: region ids, a colon, then thresholds to override, e.g. \"12850 12851: hp=40, prayer=20\". Keys: hp, prayer, spec, inventory, idle (ms).",
+        section = regionSection,
+        position = 1
+    )
+    default String regionProfiles() { return ""; }
+
+    // --- Notifications Section ---
+    @ConfigSection(
+        name = "Notifications",
+        description = "Send alerts somewhere other than the alert sound.",
+        position = 58
+    )
+    String notificationSection = "notificationSection";
+
+    @ConfigItem(
+        keyName = "notifyRuneLite",
+        name = "RuneLite notification",
+        description = "Send alerts as RuneLite notifications, at most once every 30 seconds. RuneLite's notification settings decide whether they also show on the desktop.",
+        section = notificationSection,
+        position = 1
+    )
+    default boolean notifyRuneLite() { return false; }
+
+    @ConfigItem(
+        keyName = "flashWindow",
+        name = "Flash window",
+        description = "Ask the desktop to flash the overlay window's taskbar entry on alerts.",
+        section = notificationSection,
+        position = 2
+    )
+    default boolean flashWindow() { return false; }
+
+    @ConfigItem(
+        keyName = "pulseBorder",
+        name = "Pulse border",
+        description = "Pulse the overlay border in the alert's color.",
+        section = notificationSection,
+        position = 3
+    )
+    default boolean pulseBorder() { return true; }
+
+    @ConfigItem(
+        keyName = "showAlertHistory",
+        name = "Show alert history",
+        description = "Add an expandable list of recent alerts to the overlay.",
+        section = notificationSection,
+        position = 4
+    )
+    default boolean showAlertHistory() { return false; }
+
+    // --- Dashboard Section ---
+    @ConfigSection(
+        name = "Dashboard",
+        description = "Share status with the other clients and tools on this computer.",
+        position = 59
+    )
+    String dashboardSection = "dashboardSection";
+
+    @ConfigItem(
+        keyName = "publishToDashboard",
+        name = "Publish to dashboard",
+        description = "Share this client's HP, prayer, inventory and status with the dashboard.",
+        section = dashboardSection,
+        position = 1
+    )
+    default boolean publishToDashboard() { return false; }
+
+    @ConfigItem(
+        keyName = "showDashboard",
+        name = "Show dashboard",
+        description = "Open a window listing every client that publishes to the dashboard.",
+        section = dashboardSection,
+        position = 2
+    )
+    default boolean showDashboard() { return false; }
+
+    @ConfigItem(
+        keyName = "enableStream",
+        name = "Local event stream",
+        description = "Stream updates and alerts as Server-Sent Events on http://127.0.0.1:<port>/events for local tools.",
+        section = dashboardSection,
+        position = 3
+    )
+    default boolean enableStream() { return false; }
+
+    @ConfigItem(
+        keyName = "streamPort",
+        name = "Event stream port",
+        description = "Port for the local event stream. Each client needs its own.",
+        section = dashboardSection,
+        position = 4
+    )
+    @Range(min = 1024, max = 65535)
+    default int streamPort() { return 8765; }
+
     // --- Window Settings Section ---
     @ConfigSection(
         name = "General Settings",
@@ -386,4 +682,40 @@ default boolean showHp() { return true; }
     )
     default boolean showOverlay() { return false; }
 
+    @ConfigItem(
+        keyName = "headlessMode",
+        name = "Headless Mode",
+        description = "Don't create the overlay window. Alerts, history, the dashboard and the event stream keep working.",
+        section = windowSection,
+        position = 9
+    )
+    default boolean headlessMode() { return false; }
+
+    @ConfigItem(
+        keyName = "showInGameOverlay",
+        name = "In-Game Overlay",
+        description = "Also draw the overlay inside the game window.",
+        section = windowSection,
+        position = 10
+    )
+    default boolean showInGameOverlay() { return false; }
+
+    @ConfigItem(
+        keyName = "showStatusBadge",
+        name = "Status Badge Icon",
+        description = "Show HP and prayer bars and a status dot as the overlay's taskbar icon, visible even when minimized.",
+        section = windowSection,
+        position = 11
+    )
+    default boolean showStatusBadge() { return true; }
+
+    @ConfigItem(
+        keyName = "releaseSoundDevice",
+        name = "Release Sound Device",
+        description = "Close the sound device after a minute without alerts. The next alert then takes a little longer to start.",
+        section = windowSection,
+        position = 12
+    )
+    default boolean releaseSoundDevice() { return false; }
+
 }
@@ -3,12 +3,25 @@ package com.afkoverlay;
 import com.google.inject.Provides;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.api.events.ActorDeath;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.PlayerChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.Notifier;
+import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.EventBus;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.events.ConfigChanged;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.game.ItemStats;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.overlay.OverlayManager;
@@ -17,7 +30,9 @@ import net.runelite.client.util.ImageUtil;
 import javax.inject.Inject;
 import javax.swing.SwingUtilities;
 import java.awt.Image;
-import java.time.Instant;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @PluginDescriptor(
@@ -42,44 +57,190 @@ public class AFKOverlayPlugin extends Plugin {
     @Inject
     private ConfigManager configManager;
 
-    private FloatingOverlayWindow floatingWindow;
+    @Inject
+    private ClientThread clientThread;
+
+    @Inject
+    private Notifier notifier;
+
+    @Inject
+    private EventBus eventBus;
+
+    @Inject
+    private ItemManager itemManager;
+
+    private volatile FloatingOverlayWindow floatingWindow;
     private PlayerInfo playerInfo;
-    private PlayerInfo previousPlayerInfo;
-    // Track the last time the player was active
-    private Instant lastActive = Instant.now();
+    private volatile PlayerInfo previousPlayerInfo;
+    // Tick-driven idle state, owned by the worker thread
+    private final IdleTracker idleTracker = new IdleTracker();
+    // Show the logout countdown after a minute without input
+    private static final int LOGOUT_COUNTDOWN_AFTER_TICKS = 100;
+    // Rate estimators for time-to-threshold predictions, owned by the worker thread
+    private static final int RATE_WINDOW_TICKS = 50;
+    private static final int INVENTORY_SIZE = 28;
+    private final RateEstimator hpRate = new RateEstimator(RATE_WINDOW_TICKS);
+    private final RateEstimator prayerRate = new RateEstimator(RATE_WINDOW_TICKS);
+    private final RateEstimator inventoryRate = new RateEstimator(RATE_WINDOW_TICKS);
+    private int hpEtaTicks = -1;
+    private int prayerEtaTicks = -1;
+    private int inventoryEtaTicks = -1;
+    // Damage from hitsplats on the client thread, healing from HP increases on the worker
+    private final DamageTracker damageTracker = new DamageTracker();
+    private int lastHp = 0;
+    private int deathEtaTicks = -1;
+    // Combat target, followed on the client thread
+    private final TargetTracker targetTracker = new TargetTracker();
+    private int ticksWithoutTarget = 0;
+    // Potion boost timers, owned by the worker thread
+    private final BoostTracker boostTracker = new BoostTracker();
+    // Active prayers, updated from varbit changes on the client thread
+    private final PrayerTracker prayerTracker = new PrayerTracker();
+    // Item containers, updated from container change events on the client thread
+    private final ContainerIndex inventoryIndex = new ContainerIndex();
+    private final ContainerIndex equipmentIndex = new ContainerIndex();
+    // Prayer bonus of the worn items, worked out on the client thread when the equipment changes
+    private int equipmentPrayerBonus = 0;
+    private volatile String watchedItemName = "";
+    // Skill levels, updated from stat changes on the client thread
+    private final SkillLevels skillLevels = new SkillLevels();
+    private final XpTracker xpTracker = new XpTracker();
     // Track if window was closed by user
     private boolean windowClosedByUser = false;
-    private Instant lastSoundPlayed = Instant.now();
-    private static final int SOUND_ID = 3817;
+    // Per-alert cooldowns, owned by the worker thread
+    private final AlertScheduler alertScheduler = new AlertScheduler();
+    // Alert sounds play on their own thread, never through the client
+    private AlertSoundPlayer soundPlayer;
+    // Other alert destinations, each on its own thread
+    private static final long NOTIFICATION_INTERVAL_MS = 30_000;
+    private static final long WINDOW_ATTENTION_INTERVAL_MS = 10_000;
+    private static final long BORDER_PULSE_INTERVAL_MS = 1_500;
+    private AlertDispatcher alertDispatcher;
+    // Recent alerts for the history section, kept across logins
+    private final AlertHistory alertHistory = new AlertHistory();
+    private int previousTriggered = 0;
+    // Status shared with the other clients on this computer
+    private static final String DASHBOARD_FILE = "afkoverlay-dashboard.dat";
+    private volatile SharedDashboard sharedDashboard;
+    private DashboardWindow dashboardWindow;
+    // Change events for other plugins; built on the worker, posted on the client thread
+    private PlayerStateChanged lastStateEvent;
+    private final AtomicReference<PlayerStateChanged> pendingStateEvent = new AtomicReference<>();
+    // Worker thread only: the tick whose event was last handed over, and changes held for the next tick
+    private int lastPostedTick = -1;
+    private PlayerStateChanged heldStateEvent;
+    // Local event stream for external tools
+    private volatile StreamServer streamServer;
+    // Per-character profiles, loaded once at startup
+    private final ProfileStore profileStore = new ProfileStore();
+    private volatile OverlayProfile activeProfile;
+    // Character or config thresholds, and the thresholds in effect after region overrides
+    private volatile AlertThresholds baseThresholds;
+    private volatile AlertThresholds thresholds;
+    // Region overrides, looked up only when the region changes
+    private volatile RegionProfiles regionProfiles;
+    private volatile RegionOverride regionOverride;
+    private volatile int currentRegionId = -1;
+    // Client thread only captures raw values; the worker thread does the rest
+    private static final int CAPTURE_RING_SIZE = 8;
+    private static final int TICK_COST_LOG_INTERVAL = 100;
+    private final CaptureRing captureRing = new CaptureRing(CAPTURE_RING_SIZE);
+    private final TickCapture clientCapture = new TickCapture();
+    // Tick of the last capture, only touched on the client thread
+    private int lastCaptureTick = -1;
+    private Thread workerThread;
+    private long tickCostTotalNanos = 0;
+    private long tickCostMaxNanos = 0;
+    private int tickCostSamples = 0;
 
     @Override
     protected void startUp() throws Exception {
         log.info("AFK Overlay plugin started!");
         
         // Initialize player info
-        playerInfo = new PlayerInfo();        
-        // Create and show floating overlay window
-        createAndShowWindow();
+        playerInfo = new PlayerInfo();
+        lastStateEvent = null;
+        pendingStateEvent.set(null);
+        lastPostedTick = -1;
+        heldStateEvent = null;
+        
+        // Load character profiles once so logging in never reads the config
+        profileStore.load(configManager);
+        activeProfile = null;
+        regionProfiles = RegionProfiles.parse(config.regionProfiles());
+        regionOverride = null;
+        currentRegionId = -1;
+        baseThresholds = AlertThresholds.fromConfig(config);
+        overlay.setSnapshot(null);
+        overlay.setRowMask(OverlayProfile.rowMaskFromConfig(config));
+        updateThresholds();
+        
+        // Pick up state that was already set when the plugin started
+        prayerTracker.reset();
+        inventoryIndex.clear();
+        equipmentIndex.clear();
+        equipmentPrayerBonus = 0;
+        skillLevels.clear();
+        xpTracker.clear();
+        damageTracker.reset();
+        clientThread.invokeLater(() -> {
+            targetTracker.reset();
+            if (client.getGameState() == GameState.LOGGED_IN) {
+                syncClientState();
+                Player player = client.getLocalPlayer();
+                if (player != null) {
+                    targetTracker.onInteractingChanged(player.getInteracting(), client.getTickCount());
+                }
+            }
+        });
+        
+        // Preload alert sounds
+        soundPlayer = new AlertSoundPlayer(LineAudioSink.open());
+        soundPlayer.setVolume(config.soundVolume());
+        soundPlayer.setReleaseWhenIdle(config.releaseSoundDevice());
+        soundPlayer.start();
+        
+        // Set up the other alert destinations
+        alertDispatcher = new AlertDispatcher();
+        alertDispatcher.addSink("notifier", config::notifyRuneLite, NOTIFICATION_INTERVAL_MS,
+            (type, message) -> notifier.notify(message));
+        alertDispatcher.addSink("window attention", config::flashWindow, WINDOW_ATTENTION_INTERVAL_MS,
+            (type, message) -> runOnWindow(window -> window.requestAttention()));
+        alertDispatcher.addSink("border pulse", config::pulseBorder, BORDER_PULSE_INTERVAL_MS,
+            (type, message) -> runOnWindow(window -> window.pulseBorder(type)));
+        
+        // Start the processing worker
+        captureRing.clear();
+        workerThread = new Thread(this::runWorker, "AFK Overlay worker");
+        workerThread.setDaemon(true);
+        workerThread.start();
         
-        // Add overlay to overlay manager (for potential future use)
+        updateDashboard();
+        updateStream();
+        
+        // Create and show floating overlay window, unless nobody will look at it
+        if (!config.headlessMode()) {
+            createAndShowWindow();
+        }
+        
+        // In-game overlay, drawn only when enabled
         overlayManager.add(overlay);
     }
 
     private void createAndShowWindow() {
         SwingUtilities.invokeLater(() -> {
-            floatingWindow = new FloatingOverlayWindow(playerInfo, config, configManager);
-            
-            // Set custom icon for the window (using the plugin hub icon)
-            try {
-                Image icon = ImageUtil.loadImageResource(getClass(), "/icon.png");
-                if (icon != null) {
-                    floatingWindow.setIconImage(icon);
-                    // Also try setting it as a list for better compatibility
-                    floatingWindow.setIconImages(java.util.Arrays.asList(icon));
-                }
-            } catch ( IllegalArgumentException e) {
-                // Silently fall back to default icon
+            floatingWindow = new FloatingOverlayWindow(config, configManager, profileStore, alertHistory);
+            if (activeProfile != null) {
+                floatingWindow.applyProfile(activeProfile);
             }
+            floatingWindow.setThresholds(thresholds);
+            PlayerInfo snapshot = previousPlayerInfo;
+            if (snapshot != null) {
+                floatingWindow.updateDisplay(snapshot);
+            }
+            
+            // Plugin hub icon, shown when the status badge is off
+            floatingWindow.setDefaultIcon(loadPluginIcon());
             
             // Add window listener to track when it's closed
             floatingWindow.addWindowListener(new java.awt.event.WindowAdapter() {
@@ -94,6 +255,115 @@ public class AFKOverlayPlugin extends Plugin {
         });
     }
 
+    private Image loadPluginIcon() {
+        try {
+            return ImageUtil.loadImageResource(getClass(), "/icon.png");
+        } catch (IllegalArgumentException e) {
+            // Silently fall back to default icon
+            return null;
+        }
+    }
+
+    private void runOnWindow(java.util.function.Consumer<FloatingOverlayWindow> action) {
+        FloatingOverlayWindow window = floatingWindow;
+        if (window != null) {
+            SwingUtilities.invokeLater(() -> action.accept(window));
+        }
+    }
+
+    /**
+     * Opens or closes the shared dashboard file, slot and window to match the config.
+     */
+    private synchronized void updateDashboard() {
+        boolean publish = config.publishToDashboard();
+        boolean show = config.showDashboard();
+        if (!publish && !show) {
+            closeDashboard();
+            return;
+        }
+        
+        SharedDashboard dashboard = sharedDashboard;
+        if (dashboard == null) {
+            try {
+                dashboard = SharedDashboard.open(new File(RuneLite.RUNELITE_DIR, DASHBOARD_FILE));
+            } catch (IOException e) {
+                log.warn("Unable to open the shared dashboard", e);
+                return;
+            }
+            sharedDashboard = dashboard;
+        }
+        
+        if (publish && !dashboard.hasSlot()) {
+            try {
+                dashboard.claimSlot();
+            } catch (IOException e) {
+                log.warn("Unable to claim a dashboard slot", e);
+            }
+            // Publish the current state on the next tick
+            previousPlayerInfo = null;
+        } else if (!publish) {
+            dashboard.releaseSlot();
+        }
+        
+        SharedDashboard shownDashboard = dashboard;
+        SwingUtilities.invokeLater(() -> {
+            if (show && dashboardWindow == null) {
+                dashboardWindow = new DashboardWindow(shownDashboard);
+                dashboardWindow.addWindowListener(new java.awt.event.WindowAdapter() {
+                    @Override
+                    public void windowClosing(java.awt.event.WindowEvent e) {
+                        configManager.setConfiguration("afkoverlay", "showDashboard", false);
+                    }
+                });
+                dashboardWindow.setVisible(true);
+            } else if (!show && dashboardWindow != null) {
+                dashboardWindow.dispose();
+                dashboardWindow = null;
+            }
+        });
+    }
+    
+    private synchronized void closeDashboard() {
+        if (sharedDashboard != null) {
+            sharedDashboard.close();
+            sharedDashboard = null;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (dashboardWindow != null) {
+                dashboardWindow.dispose();
+                dashboardWindow = null;
+            }
+        });
+    }
+
+    /**
+     * Starts, restarts or stops the local event stream to match the config.
+     */
+    private synchronized void updateStream() {
+        stopStream();
+        if (!config.enableStream()) {
+            return;
+        }
+        
+        StreamServer server = new StreamServer(config.streamPort());
+        try {
+            server.start();
+        } catch (IOException e) {
+            log.warn("Unable to start the event stream on port {}", config.streamPort(), e);
+            return;
+        }
+        streamServer = server;
+        // Send the current state on the next tick
+        previousPlayerInfo = null;
+    }
+    
+    private synchronized void stopStream() {
+        if (streamServer != null) {
+            streamServer.stop();
+            streamServer = null;
+        }
+    }
+
     @Override
     protected void shutDown() throws Exception {
         log.info("AFK Overlay plugin stopped!");
@@ -101,41 +371,211 @@ public class AFKOverlayPlugin extends Plugin {
         // Remove overlay from overlay manager
         overlayManager.remove(overlay);
         
+        // Stop the processing worker
+        if (workerThread != null) {
+            workerThread.interrupt();
+            workerThread.join(1000);
+            workerThread = null;
+        }
+        
+        // Stop alert sounds
+        if (soundPlayer != null) {
+            soundPlayer.stop();
+            soundPlayer = null;
+        }
+        if (alertDispatcher != null) {
+            alertDispatcher.shutdown();
+            alertDispatcher = null;
+        }
+        closeDashboard();
+        stopStream();
+        
+        disposeWindow();
+    }
+    
+    private void disposeWindow() {
         // Save window position and size before disposing
-        if (floatingWindow != null) {
+        FloatingOverlayWindow window = floatingWindow;
+        if (window != null) {
+            floatingWindow = null;
             SwingUtilities.invokeLater(() -> {
-                floatingWindow.savePositionAndSize();
-                floatingWindow.dispose();
-                floatingWindow = null;
+                window.savePositionAndSize();
+                window.dispose();
             });
         }
     }
 
     @Subscribe
     public void onGameTick(GameTick event) {
-        updatePlayerInfo();
-        checkThresholdsAndPlaySounds();
+        captureTick();
     }
 
     @Subscribe
     public void onGameStateChanged(GameStateChanged event) {
         if (event.getGameState() == GameState.LOGGED_IN) {
-            updatePlayerInfo();
+            syncClientState();
+            captureTick();
+        } else if (event.getGameState() == GameState.LOGIN_SCREEN) {
+            prayerTracker.reset();
+            inventoryIndex.clear();
+            equipmentIndex.clear();
+            equipmentPrayerBonus = 0;
+            skillLevels.clear();
+            xpTracker.clear();
+            targetTracker.reset();
+            clientCapture.setLoggedIn(false);
+            captureRing.offer(clientCapture);
         }
     }
 
     @Subscribe
     public void onPlayerChanged(PlayerChanged event) {
-        updatePlayerInfo();
+        // Fires for every player in the scene; only a change to ours between ticks is worth a capture
+        if (event.getPlayer() == client.getLocalPlayer() && client.getTickCount() != lastCaptureTick) {
+            captureTick();
+        }
+    }
+
+    @Subscribe
+    public void onVarbitChanged(VarbitChanged event) {
+        prayerTracker.onVarbitChanged(event.getVarbitId(), event.getValue());
+    }
+
+    @Subscribe
+    public void onHitsplatApplied(HitsplatApplied event) {
+        // Heal hitsplats show up as HP increases, which the worker counts as healing
+        Hitsplat hitsplat = event.getHitsplat();
+        if (event.getActor() == client.getLocalPlayer() && hitsplat.getHitsplatType() != HitsplatID.HEAL) {
+            damageTracker.onDamage(client.getTickCount(), hitsplat.getAmount());
+        }
+    }
+
+    @Subscribe
+    public void onInteractingChanged(InteractingChanged event) {
+        if (event.getSource() == client.getLocalPlayer()) {
+            targetTracker.onInteractingChanged(event.getTarget(), client.getTickCount());
+        }
+    }
+
+    @Subscribe
+    public void onActorDeath(ActorDeath event) {
+        targetTracker.onActorDeath(event.getActor());
+    }
+
+    @Subscribe
+    public void onStatChanged(StatChanged event) {
+        skillLevels.update(event.getSkill(), event.getLevel(), event.getBoostedLevel());
+        xpTracker.onXpChanged(event.getSkill(), event.getXp(), client.getTickCount());
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        if (event.getContainerId() == InventoryID.INVENTORY.getId()) {
+            inventoryIndex.update(event.getItemContainer().getItems());
+        } else if (event.getContainerId() == InventoryID.EQUIPMENT.getId()) {
+            equipmentIndex.update(event.getItemContainer().getItems());
+            updatePrayerBonus(event.getItemContainer());
+        }
+    }
+
+    private void updatePrayerBonus(ItemContainer equipment) {
+        int bonus = 0;
+        if (equipment != null) {
+            for (Item item : equipment.getItems()) {
+                ItemStats stats = item != null && item.getId() >= 0 ? itemManager.getItemStats(item.getId()) : null;
+                if (stats != null && stats.getEquipment() != null) {
+                    bonus += stats.getEquipment().getPrayer();
+                }
+            }
+        }
+        equipmentPrayerBonus = bonus;
+    }
+
+    /**
+     * Reads state that is otherwise only updated from events. Runs on the client thread.
+     */
+    private void syncClientState() {
+        prayerTracker.refresh(client);
+        skillLevels.refresh(client);
+
+        ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
+        inventoryIndex.update(inventory != null ? inventory.getItems() : null);
+        ItemContainer equipment = client.getItemContainer(InventoryID.EQUIPMENT);
+        equipmentIndex.update(equipment != null ? equipment.getItems() : null);
+        updatePrayerBonus(equipment);
+
+        resolveWatchedItemName();
+    }
+
+    private void resolveWatchedItemName() {
+        int itemId = config.watchedItemId();
+        if (itemId <= 0) {
+            watchedItemName = "";
+            return;
+        }
+
+        ItemComposition item = client.getItemDefinition(itemId);
+        watchedItemName = item != null ? item.getName() : "Item " + itemId;
     }
 
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
         if (event.getGroup().equals("afkoverlay")) {
+            // Window geometry and profiles are written by the plugin itself
+            if (ProfileStore.isProfileKey(event.getKey()) || event.getKey().startsWith("window")) {
+                return;
+            }
+            
+            // Changes made while logged in belong to the current character
+            OverlayProfile profile = activeProfile;
+            if (profile != null) {
+                profile = profileStore.update(configManager, profile, p -> p.applyConfigChange(event.getKey(), config));
+                activeProfile = profile;
+            }
+            baseThresholds = profile != null ? profile.getThresholds() : AlertThresholds.fromConfig(config);
+            overlay.setRowMask(profile != null ? profile.getRowMask() : OverlayProfile.rowMaskFromConfig(config));
+            overlay.updateConfig();
+            if (event.getKey().equals("regionProfiles")) {
+                regionProfiles = RegionProfiles.parse(config.regionProfiles());
+                regionOverride = regionProfiles.get(currentRegionId);
+            }
+            updateThresholds();
+            
+            if (event.getKey().equals("publishToDashboard") || event.getKey().equals("showDashboard")) {
+                updateDashboard();
+            }
+            
+            if (event.getKey().equals("enableStream") || event.getKey().equals("streamPort")) {
+                updateStream();
+            }
+            
+            if (event.getKey().equals("soundVolume") && soundPlayer != null) {
+                soundPlayer.setVolume(config.soundVolume());
+            }
+            
+            if (event.getKey().equals("releaseSoundDevice") && soundPlayer != null) {
+                soundPlayer.setReleaseWhenIdle(config.releaseSoundDevice());
+            }
+            
+            // Item names can only be looked up on the client thread
+            if (event.getKey().equals("watchedItemId")) {
+                clientThread.invokeLater(this::resolveWatchedItemName);
+            }
+            
+            if (event.getKey().equals("headlessMode")) {
+                if (config.headlessMode()) {
+                    disposeWindow();
+                } else if (floatingWindow == null) {
+                    createAndShowWindow();
+                }
+            }
+            
             // Handle show overlay button
             if (event.getKey().equals("showOverlay") && config.showOverlay()) {
                 if (floatingWindow == null) {
-                    createAndShowWindow();
+                    if (!config.headlessMode()) {
+                        createAndShowWindow();
+                    }
                 } else if (!floatingWindow.isVisible()) {
                     floatingWindow.setVisible(true);
                 }
@@ -156,12 +596,21 @@ public class AFKOverlayPlugin extends Plugin {
             // Update the floating window when other config changes
             if (floatingWindow != null) {
                 previousPlayerInfo = null;
-                SwingUtilities.invokeLater(() -> floatingWindow.updateConfig());
+                AlertThresholds newThresholds = thresholds;
+                SwingUtilities.invokeLater(() -> {
+                    floatingWindow.setThresholds(newThresholds);
+                    floatingWindow.updateConfig();
+                });
             }
         }
     }
 
-    private void updatePlayerInfo() {
+    /**
+     * Reads the raw values for this tick on the client thread and hands them to the worker.
+     */
+    private void captureTick() {
+        long start = System.nanoTime();
+        
         if (client.getGameState() != GameState.LOGGED_IN) {
             return;
         }
@@ -171,66 +620,362 @@ public class AFKOverlayPlugin extends Plugin {
             return;
         }
 
+        TickCapture capture = clientCapture;
+        capture.setLoggedIn(true);
+        capture.setTickCount(client.getTickCount());
+        lastCaptureTick = capture.getTickCount();
+        capture.setCurrentHp(client.getBoostedSkillLevel(Skill.HITPOINTS));
+        capture.setMaxHp(client.getRealSkillLevel(Skill.HITPOINTS));
+        capture.setCurrentPrayer(client.getBoostedSkillLevel(Skill.PRAYER));
+        capture.setMaxPrayer(client.getRealSkillLevel(Skill.PRAYER));
+        capture.setSpecialAttackEnergy(client.getVarpValue(VarPlayer.SPECIAL_ATTACK_PERCENT) / 10);
+        capture.setInventoryUsedSlots(inventoryIndex.getUsedSlots());
+        int watchedItemId = config.watchedItemId();
+        capture.setWatchedItemCount(inventoryIndex.getQuantity(watchedItemId) + equipmentIndex.getQuantity(watchedItemId));
+        capture.setAnimation(player.getAnimation());
+        capture.setPoseAnimation(player.getPoseAnimation());
+        capture.setIdlePoseAnimation(player.getIdlePoseAnimation());
+        capture.setMouseIdleTicks(client.getMouseIdleTicks());
+        capture.setKeyboardIdleTicks(client.getKeyboardIdleTicks());
+        capture.setActivePrayerCount(prayerTracker.getActiveCount());
+        capture.setPrayerDrainRate(prayerTracker.getDrainRate());
+        capture.setPrayerBonus(equipmentPrayerBonus);
+        capture.setProtectionPrayer(prayerTracker.getActiveProtection());
+        capture.setCharacterName(player.getName());
+        capture.setRegionId(getRegionId(player));
+        targetTracker.capture(capture, capture.getTickCount());
+        capture.setCaptureNanos(System.nanoTime() - start);
+        
+        captureRing.offer(capture);
+    }
+
+    /**
+     * Region of the player's tile, worked out from scene coordinates so no WorldPoint is created every tick.
+     * In an instance this is the region its template chunk was copied from. Returns -1 if unknown.
+     */
+    private int getRegionId(Player player) {
+        LocalPoint local = player.getLocalLocation();
+        if (local == null) {
+            return -1;
+        }
+        int sceneX = local.getSceneX();
+        int sceneY = local.getSceneY();
+        if (sceneX < 0 || sceneY < 0 || sceneX >= Constants.SCENE_SIZE || sceneY >= Constants.SCENE_SIZE) {
+            return -1;
+        }
+        if (!client.isInInstancedRegion()) {
+            return regionId(client.getBaseX() + sceneX, client.getBaseY() + sceneY);
+        }
+
+        int chunk = client.getInstanceTemplateChunks()[client.getPlane()][sceneX / Constants.CHUNK_SIZE][sceneY / Constants.CHUNK_SIZE];
+        if (chunk == -1) {
+            return -1;
+        }
+        // Rotation only moves tiles inside the chunk, so it can't change the region
+        int chunkX = chunk >> 14 & 0x3FF;
+        int chunkY = chunk >> 3 & 0x7FF;
+        return regionId(chunkX * Constants.CHUNK_SIZE, chunkY * Constants.CHUNK_SIZE);
+    }
+
+    private static int regionId(int worldX, int worldY) {
+        return (worldX / Constants.REGION_SIZE) << 8 | worldY / Constants.REGION_SIZE;
+    }
+
+    private void runWorker() {
+        TickCapture capture = new TickCapture();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                captureRing.take(capture);
+            } catch (InterruptedException e) {
+                break;
+            }
+
+            try {
+                if (!capture.isLoggedIn()) {
+                    handleLoggedOut(capture.getTickCount());
+                    continue;
+                }
+                updatePlayerInfo(capture);
+                checkThresholdsAndPlaySounds(capture.getTickCount());
+                recordTickCost(capture);
+            } catch (Exception e) {
+                log.warn("Error processing tick {}", capture.getTickCount(), e);
+            }
+        }
+    }
+
+    private void recordTickCost(TickCapture capture) {
+        long nanos = capture.getCaptureNanos();
+        tickCostTotalNanos += nanos;
+        tickCostMaxNanos = Math.max(tickCostMaxNanos, nanos);
+        tickCostSamples++;
+
+        if (tickCostSamples >= TICK_COST_LOG_INTERVAL) {
+            log.debug("Client thread capture cost: avg {} us, max {} us, dropped {} captures",
+                tickCostTotalNanos / tickCostSamples / 1000, tickCostMaxNanos / 1000, captureRing.getDropped());
+            tickCostTotalNanos = 0;
+            tickCostMaxNanos = 0;
+            tickCostSamples = 0;
+        }
+    }
+
+    private void updatePlayerInfo(TickCapture capture) {
         // Update HP using skill levels
-        int currentHp = client.getBoostedSkillLevel(Skill.HITPOINTS);
-        int maxHp = client.getRealSkillLevel(Skill.HITPOINTS);
+        int currentHp = capture.getCurrentHp();
+        int maxHp = capture.getMaxHp();
         if (currentHp > 0 && maxHp > 0) {
             playerInfo.setCurrentHp(currentHp);
             playerInfo.setMaxHp(maxHp);
         }
 
         // Update Prayer
-        int currentPrayer = client.getBoostedSkillLevel(Skill.PRAYER);
-        int maxPrayer = client.getRealSkillLevel(Skill.PRAYER);
+        int currentPrayer = capture.getCurrentPrayer();
+        int maxPrayer = capture.getMaxPrayer();
         if (currentPrayer > 0 && maxPrayer > 0) {
             playerInfo.setCurrentPrayer(currentPrayer);
             playerInfo.setMaxPrayer(maxPrayer);
         }
 
-        // Idle detection using Instant.now()
-        boolean isIdleNow = isPlayerIdle(player);
-        Instant now = Instant.now();
-        if (!isIdleNow) {
-            lastActive = now;
-            playerInfo.setIdle(false);
+        // Idle detection from tick counters and input idle ticks
+        int logoutWarningTicks = config.logoutWarningSeconds() * 1000 / IdleTracker.GAME_TICK_MS;
+        IdleState idleState = idleTracker.update(capture.getTickCount(), !isPlayerIdle(capture),
+            capture.getMouseIdleTicks(), capture.getKeyboardIdleTicks(), thresholds.getIdleMs(), logoutWarningTicks);
+        playerInfo.setIdle(idleTracker.isCharacterIdle());
+        playerInfo.setIdleState(idleState);
+        if (idleTracker.getInputIdleTicks() >= LOGOUT_COUNTDOWN_AFTER_TICKS) {
+            playerInfo.setLogoutSecondsRemaining(idleTracker.getLogoutTicksRemaining() * IdleTracker.GAME_TICK_MS / 1000);
         } else {
-            long millisSinceActive = java.time.Duration.between(lastActive, now).toMillis();
-            int idleThreshold = config.idleThresholdMs();
-            if (millisSinceActive >= idleThreshold) {
-                playerInfo.setIdle(true);
-            } else {
-                playerInfo.setIdle(false);
-            }
+            playerInfo.setLogoutSecondsRemaining(-1);
         }
 
         // Update inventory usage
-        updateInventoryUsage();
+        playerInfo.setInventoryUsedSlots(capture.getInventoryUsedSlots());
+
+        // Update watched item
+        playerInfo.setWatchedItemName(watchedItemName);
+        playerInfo.setWatchedItemCount(capture.getWatchedItemCount());
 
         // Update special attack energy
-        int specialAttackEnergy = client.getVarpValue(VarPlayer.SPECIAL_ATTACK_PERCENT) / 10;
-        playerInfo.setSpecialAttackEnergy(specialAttackEnergy);
+        playerInfo.setSpecialAttackEnergy(capture.getSpecialAttackEnergy());
+
+        // Copy only the skills that changed since the last tick
+        long changedSkills = skillLevels.drainDirty(playerInfo.getSkillBoosted(), playerInfo.getSkillReal());
+
+        // Predict when potion boosts run out
+        int boostLeadTicks = Math.max(BoostTracker.MIN_LEAD_TICKS, config.alertLeadSeconds() * 1000 / IdleTracker.GAME_TICK_MS);
+        boostTracker.update(capture.getTickCount(), changedSkills, playerInfo.getSkillBoosted(), playerInfo.getSkillReal(),
+            config.boostMargin(), boostLeadTicks);
+        playerInfo.setBoostSkill(boostTracker.getSoonestSkill());
+        playerInfo.setBoostLevels(boostTracker.getSoonestBoost());
+        playerInfo.setBoostExpirySeconds(ticksToSeconds(boostTracker.getSoonestExpiryTicks()));
+
+        // XP rates for the skill being trained
+        xpTracker.advance(capture.getTickCount());
+        playerInfo.setXpSkill(xpTracker.getTrainedSkill());
+        playerInfo.setXpPerHour(xpTracker.getXpPerHour());
+        playerInfo.setActionsPerHour(xpTracker.getActionsPerHour());
+        playerInfo.setLevelEtaSeconds(ticksToSeconds(xpTracker.getTicksToLevel()));
+
+        // Update combat target
+        playerInfo.setTargetName(capture.getTargetName());
+        playerInfo.setTargetDead(capture.isTargetDead());
+        int healthScale = capture.getTargetHealthScale();
+        int healthRatio = capture.getTargetHealthRatio();
+        playerInfo.setTargetHealthPercent(healthScale > 0 && healthRatio >= 0 ? healthRatio * 100 / healthScale : -1);
+        playerInfo.setNoTargetSeconds(ticksToSeconds(capture.getTicksWithoutTarget()));
+        ticksWithoutTarget = capture.getTicksWithoutTarget();
 
         // Update character name
-        updateCharacterName(player);
+        updateCharacterName(capture.getCharacterName());
+
+        // Swap in region thresholds when the player changes region
+        if (capture.getRegionId() != currentRegionId) {
+            currentRegionId = capture.getRegionId();
+            regionOverride = regionProfiles.get(currentRegionId);
+            pushThresholds(updateThresholds());
+        }
         
-        // Update protection prayer
-        updateProtectionPrayer(player);
+        // Update active prayers
+        playerInfo.setActiveProtectionPrayer(capture.getProtectionPrayer());
+        playerInfo.setActivePrayerCount(capture.getActivePrayerCount());
+        playerInfo.setPrayerEmptySeconds(ticksToSeconds(
+            PrayerTracker.ticksToDrain(playerInfo.getCurrentPrayer(), capture.getPrayerDrainRate(), capture.getPrayerBonus())));
+
+        // Predict when each stat reaches its threshold
+        updatePredictions(capture.getTickCount(), capture.getPrayerDrainRate(), capture.getPrayerBonus());
+        updateDamage(capture.getTickCount());
+
+        pushDisplayUpdate(capture.getTickCount());
+    }
+
+    private void updatePredictions(int tickCount, double prayerDrainRate, int prayerBonus) {
+        AlertThresholds currentThresholds = thresholds;
+        hpRate.add(tickCount, playerInfo.getCurrentHp());
+        prayerRate.add(tickCount, playerInfo.getCurrentPrayer());
+        inventoryRate.add(tickCount, playerInfo.getInventoryUsedSlots());
+
+        hpEtaTicks = playerInfo.getCurrentHp() > currentThresholds.getLowHp() ? hpRate.ticksUntil(currentThresholds.getLowHp()) : -1;
+        int prayerAboveThreshold = playerInfo.getCurrentPrayer() - currentThresholds.getLowPrayer();
+        if (prayerAboveThreshold <= 0) {
+            prayerEtaTicks = -1;
+        } else if (prayerDrainRate > 0) {
+            // Active prayers give an exact drain rate; the fit covers other drains
+            prayerEtaTicks = PrayerTracker.ticksToDrain(prayerAboveThreshold, prayerDrainRate, prayerBonus);
+        } else {
+            prayerEtaTicks = prayerRate.ticksUntil(currentThresholds.getLowPrayer());
+        }
+        inventoryEtaTicks = playerInfo.getInventoryUsedSlots() < INVENTORY_SIZE ? inventoryRate.ticksUntil(INVENTORY_SIZE) : -1;
+
+        boolean showEta = config.showEta();
+        playerInfo.setHpEtaSeconds(showEta ? ticksToSeconds(hpEtaTicks) : -1);
+        playerInfo.setPrayerEtaSeconds(showEta ? ticksToSeconds(prayerEtaTicks) : -1);
+        playerInfo.setInventoryEtaSeconds(showEta ? ticksToSeconds(inventoryEtaTicks) : -1);
+    }
 
+    private void updateDamage(int tickCount) {
+        int currentHp = playerInfo.getCurrentHp();
+        if (lastHp > 0 && currentHp > lastHp) {
+            damageTracker.onHealing(tickCount, currentHp - lastHp);
+        }
+        lastHp = currentHp;
+
+        damageTracker.advance(tickCount);
+        deathEtaTicks = damageTracker.ticksToDeath(currentHp);
+        playerInfo.setDamagePerMinute(damageTracker.getDamagePerMinute());
+        playerInfo.setHealingPerMinute(damageTracker.getHealingPerMinute());
+        playerInfo.setDeathEtaSeconds(ticksToSeconds(deathEtaTicks));
+    }
+
+    private static int ticksToSeconds(int ticks) {
+        return ticks < 0 ? -1 : (int) ((long) ticks * IdleTracker.GAME_TICK_MS / 1000);
+    }
+
+    private boolean isDueWithin(int etaTicks, int leadSeconds) {
+        return leadSeconds > 0 && etaTicks >= 0 && ticksToSeconds(etaTicks) <= leadSeconds;
+    }
+
+    private void handleLoggedOut(int tickCount) {
+        idleTracker.loggedOut();
+        alertScheduler.reset();
+        previousTriggered = 0;
+        if (currentRegionId != -1) {
+            currentRegionId = -1;
+            regionOverride = null;
+            pushThresholds(updateThresholds());
+        }
+        hpRate.reset();
+        prayerRate.reset();
+        inventoryRate.reset();
+        hpEtaTicks = -1;
+        prayerEtaTicks = -1;
+        inventoryEtaTicks = -1;
+        damageTracker.reset();
+        lastHp = 0;
+        deathEtaTicks = -1;
+        playerInfo.setDamagePerMinute(0);
+        playerInfo.setHealingPerMinute(0);
+        playerInfo.setDeathEtaSeconds(-1);
+        ticksWithoutTarget = 0;
+        boostTracker.reset();
+        playerInfo.setBoostSkill(null);
+        playerInfo.setBoostLevels(0);
+        playerInfo.setBoostExpirySeconds(-1);
+        playerInfo.setTargetName("");
+        playerInfo.setTargetDead(false);
+        playerInfo.setTargetHealthPercent(-1);
+        playerInfo.setNoTargetSeconds(0);
+        playerInfo.setHpEtaSeconds(-1);
+        playerInfo.setPrayerEtaSeconds(-1);
+        playerInfo.setInventoryEtaSeconds(-1);
+        playerInfo.setActivePrayerCount(0);
+        playerInfo.setPrayerEmptySeconds(-1);
+        playerInfo.setActiveProtectionPrayer(PrayerTracker.PROTECT_NONE);
+        playerInfo.setIdle(false);
+        playerInfo.setIdleState(IdleState.LOGGED_OUT);
+        playerInfo.setLogoutSecondsRemaining(-1);
+        pushDisplayUpdate(tickCount);
+    }
+
+    private void pushDisplayUpdate(int tickCount) {
+        // Runs even when the display is unchanged, so a change held from the last tick goes out
+        postStateEvent(tickCount);
+        if (previousPlayerInfo != null && previousPlayerInfo.equals(playerInfo)) {
+            return;
+        }
+        // Everything outside the worker reads this copy, never the live playerInfo
+        PlayerInfo snapshot = new PlayerInfo(playerInfo);
+        previousPlayerInfo = snapshot;
+        overlay.setSnapshot(snapshot);
+        
+        // Share the new state with the other clients
+        SharedDashboard dashboard = sharedDashboard;
+        if (dashboard != null) {
+            dashboard.publish(snapshot);
+        }
+        StreamServer server = streamServer;
+        if (server != null) {
+            server.publishPlayer(snapshot);
+        }
+        
         // Update the floating window
-        if (floatingWindow != null && (previousPlayerInfo == null || !previousPlayerInfo.equals(playerInfo))) {
-            previousPlayerInfo = new PlayerInfo(playerInfo);
-            SwingUtilities.invokeLater(() -> {
-                floatingWindow.updateDisplay();
-                floatingWindow.updateCharacterName(playerInfo.getCharacterName());
+        FloatingOverlayWindow window = floatingWindow;
+        if (window != null) {
+            window.updateDisplay(snapshot);
+            window.updateCharacterName(snapshot.getCharacterName());
+        }
+    }
+
+    /**
+     * Posts a change event for the values other plugins care about, if any changed.
+     * Events the client thread hasn't posted yet are replaced, keeping their change bits,
+     * so at most one event is posted per tick. A change found after this tick's event was
+     * posted is held and merged into the next tick's event.
+     */
+    private void postStateEvent(int tickCount) {
+        PlayerStateChanged changed = PlayerStateChanged.of(tickCount, playerInfo, lastStateEvent);
+        PlayerStateChanged event;
+        if (changed != null) {
+            lastStateEvent = changed;
+            event = mergeChanges(changed, heldStateEvent);
+        } else if (heldStateEvent != null) {
+            event = heldStateEvent.withTick(tickCount);
+        } else {
+            return;
+        }
+        heldStateEvent = null;
+        
+        if (tickCount == lastPostedTick) {
+            // Only replace this tick's event while it is still waiting to be posted
+            if (pendingStateEvent.getAndUpdate(pending -> pending == null ? null : mergeChanges(event, pending)) == null) {
+                heldStateEvent = event;
+            }
+            return;
+        }
+        lastPostedTick = tickCount;
+        
+        PlayerStateChanged unposted = pendingStateEvent.getAndUpdate(pending -> mergeChanges(event, pending));
+        if (unposted == null) {
+            clientThread.invokeLater(() -> {
+                PlayerStateChanged pending = pendingStateEvent.getAndSet(null);
+                if (pending != null) {
+                    eventBus.post(pending);
+                }
             });
         }
     }
 
-    private boolean isPlayerIdle(Player player) {
+    /**
+     * The newer event, carrying the change bits of an older one that was never posted.
+     */
+    private static PlayerStateChanged mergeChanges(PlayerStateChanged event, PlayerStateChanged older) {
+        return older == null ? event : event.withChanges(event.getChanges() | older.getChanges());
+    }
+
+    private boolean isPlayerIdle(TickCapture capture) {
         // Get the player's current animation, pose, and idle pose
-        int animation = player.getAnimation();
-        int pose = player.getPoseAnimation();
-        int idlePose = player.getIdlePoseAnimation();
+        int animation = capture.getAnimation();
+        int pose = capture.getPoseAnimation();
+        int idlePose = capture.getIdlePoseAnimation();
 
         // If the player is performing any animation (e.g., skilling, combat), they are active
         if (animation != -1) {
@@ -246,96 +991,78 @@ public class AFKOverlayPlugin extends Plugin {
         return true;
     }
 
-    private void updateInventoryUsage() {
-        try {
-            ItemContainer inventory = client.getItemContainer(InventoryID.INVENTORY);
-            if (inventory != null && inventory.getItems() != null) {
-                Item[] items = inventory.getItems();
-                int usedSlots = 0;
-                for (Item item : items) {
-                    if (item != null && item.getId() != -1) {
-                        usedSlots++;
-                    }
-                }
-                // Fix: Calculate percentage based on used slots, not total slots
-                int totalSlots = 28; // RuneScape inventory has 28 slots
-                playerInfo.setInventoryUsedSlots(usedSlots);
-                log.debug("Inventory: {} used slots out of {}", usedSlots, totalSlots);
-            } else {
-                playerInfo.setInventoryUsedSlots(0);
-                log.debug("Inventory container is null or has no items");
-            }
-        } catch (Exception e) {
-            // If there's any error, set to 0
-            playerInfo.setInventoryUsedSlots(0);
-            log.debug("Error getting inventory: {}", e.getMessage());
-        }
-    }
-
-    private void updateCharacterName(Player player) {
-        String name = player.getName();
+    private void updateCharacterName(String name) {
         if (name != null && !name.equals(playerInfo.getCharacterName())) {
             playerInfo.setCharacterName(name);
             log.debug("Character name updated: {}", name);
+            activateProfile(name);
         }
     }
     
-    private void updateProtectionPrayer(Player player) {
-        // Check player's overhead icon to determine active protection prayer
-        HeadIcon overheadIcon = player.getOverheadIcon();
-        String activePrayer = "";
-        
-        // Check the HeadIcon enum to determine active protection prayer
-        if (overheadIcon != null) {
-            String iconName = overheadIcon.name();
-            
-            if (iconName.contains("MELEE")) {
-                activePrayer = "melee";
-            } else if (iconName.contains("MISSILES") || iconName.contains("RANGED")) {
-                activePrayer = "ranged";
-            } else if (iconName.contains("MAGIC")) {
-                activePrayer = "magic";
-            } else {
-                activePrayer = ""; // No protection prayer active
-            }
-        } else {
-            activePrayer = ""; // No protection prayer active
+    private void activateProfile(String name) {
+        OverlayProfile profile = profileStore.get(name);
+        if (profile == null) {
+            // First time on this character: start from the current settings
+            profile = profileStore.create(name, OverlayProfile.rowMaskFromConfig(config), AlertThresholds.fromConfig(config));
         }
         
-        playerInfo.setActiveProtectionPrayer(activePrayer);
-        log.debug("Protection prayer: {}", activePrayer);
+        activeProfile = profile;
+        baseThresholds = profile.getThresholds();
+        overlay.setRowMask(profile.getRowMask());
+        AlertThresholds newThresholds = updateThresholds();
+        
+        if (floatingWindow != null) {
+            OverlayProfile appliedProfile = profile;
+            SwingUtilities.invokeLater(() -> {
+                floatingWindow.setThresholds(newThresholds);
+                floatingWindow.applyProfile(appliedProfile);
+            });
+        }
     }
-
+    
+    /**
+     * Recomputes the thresholds in effect: region overrides win over the character's
+     * profile, which wins over the config. Returns the new thresholds.
+     */
+    private synchronized AlertThresholds updateThresholds() {
+        RegionOverride override = regionOverride;
+        thresholds = override != null ? override.apply(baseThresholds) : baseThresholds;
+        overlay.setThresholds(thresholds);
+        return thresholds;
+    }
+    
+    private void pushThresholds(AlertThresholds newThresholds) {
+        FloatingOverlayWindow window = floatingWindow;
+        if (window != null) {
+            SwingUtilities.invokeLater(() -> window.setThresholds(newThresholds));
+        }
+    }
+    
     @Provides
     AFKOverlayConfig provideConfig(ConfigManager configManager) {
         return configManager.getConfig(AFKOverlayConfig.class);
     }
 
-    private void checkThresholdsAndPlaySounds() {
-        if (client.getGameState() != GameState.LOGGED_IN) {
-            return;
-        }
-
-        Instant now = Instant.now();
-        if (java.time.Duration.between(lastSoundPlayed, now).toMillis() < 2000) {
-            return;
-        }
-
-        boolean playSound = false;
+    private void checkThresholdsAndPlaySounds(int tickCount) {
+        int triggered = 0;
+        int leadSeconds = config.alertLeadSeconds();
 
         // Check HP
-        if (config.playHpSound() && playerInfo.getCurrentHp() > 0 && playerInfo.getCurrentHp() <= config.lowHpThresholdValue()) {
-            playSound = true;
+        if (config.playHpSound() && playerInfo.getCurrentHp() > 0
+            && (playerInfo.getCurrentHp() <= thresholds.getLowHp() || isDueWithin(hpEtaTicks, leadSeconds)
+                || isDueWithin(deathEtaTicks, leadSeconds))) {
+            triggered |= AlertType.HP.bit();
         }
 
         // Check Prayer
-        if (config.playPrayerSound() && playerInfo.getCurrentPrayer() > 0 && playerInfo.getCurrentPrayer() <= config.lowPrayerThresholdValue()) {
-            playSound = true;
+        if (config.playPrayerSound() && playerInfo.getCurrentPrayer() > 0
+            && (playerInfo.getCurrentPrayer() <= thresholds.getLowPrayer() || isDueWithin(prayerEtaTicks, leadSeconds))) {
+            triggered |= AlertType.PRAYER.bit();
         }
 
         // Check Special Attack
-        if (config.playSpecialAttackSound() && playerInfo.getSpecialAttackEnergyPercentage() >= config.highSpecialAttackThresholdValue()) {
-            playSound = true;
+        if (config.playSpecialAttackSound() && playerInfo.getSpecialAttackEnergyPercentage() >= thresholds.getHighSpecialAttack()) {
+            triggered |= AlertType.SPECIAL_ATTACK.bit();
         }
 
         // Check Inventory
@@ -344,32 +1071,95 @@ public class AFKOverlayPlugin extends Plugin {
             boolean invThresholdMet = false;
             switch (config.invHighlightMode()) {
                 case ABOVE:
-                    if (invCount > config.invThresholdValue()) invThresholdMet = true;
+                    if (invCount > thresholds.getInventory()) invThresholdMet = true;
                     break;
                 case BELOW:
-                    if (invCount < config.invThresholdValue()) invThresholdMet = true;
+                    if (invCount < thresholds.getInventory()) invThresholdMet = true;
                     break;
                 case EQUALS:
-                    if (invCount == config.invThresholdValue()) invThresholdMet = true;
+                    if (invCount == thresholds.getInventory()) invThresholdMet = true;
                     break;
             }
+            // Warn ahead of a full inventory
+            if (isDueWithin(inventoryEtaTicks, leadSeconds)) {
+                invThresholdMet = true;
+            }
             if (invThresholdMet) {
-                playSound = true;
+                triggered |= AlertType.INVENTORY.bit();
             }
         }
 
+        // Check Watched Item
+        if (config.playWatchedItemSound() && config.watchedItemId() > 0
+            && playerInfo.getWatchedItemCount() < config.watchedItemThreshold()) {
+            triggered |= AlertType.WATCHED_ITEM.bit();
+        }
+
+        // Check Boosts
+        if (config.playBoostSound() && boostTracker.isAlerting()) {
+            triggered |= AlertType.BOOST.bit();
+        }
+
+        // Check Combat Target
+        if (config.playTargetDiedSound() && playerInfo.isTargetDead()) {
+            triggered |= AlertType.TARGET.bit();
+        }
+        if (config.noTargetAlertTicks() > 0 && ticksWithoutTarget >= config.noTargetAlertTicks()) {
+            triggered |= AlertType.TARGET.bit();
+        }
+
         // Check Idle Status
         if (config.playIdleSound() && playerInfo.isIdle()) {
-            playSound = true;
+            triggered |= AlertType.IDLE.bit();
         }
 
-        if (playSound) {
-            lastSoundPlayed = now;
-            Preferences preferences = client.getPreferences();
-            int previousVolume = preferences.getSoundEffectVolume();
-            preferences.setSoundEffectVolume(config.soundVolume());
-            client.playSoundEffect(SOUND_ID, config.soundVolume());
-            preferences.setSoundEffectVolume(previousVolume);
+        // Check AFK logout
+        if (config.playLogoutSound() && playerInfo.getIdleState() == IdleState.LOGOUT_IMMINENT) {
+            triggered |= AlertType.LOGOUT.bit();
+        }
+
+        // Record alerts as they start
+        for (int started = triggered & ~previousTriggered; started != 0; started &= started - 1) {
+            alertHistory.record(System.currentTimeMillis(), tickCount, AlertType.fromOrdinal(Integer.numberOfTrailingZeros(started)),
+                playerInfo.getCurrentHp(), playerInfo.getCurrentPrayer(), playerInfo.getInventoryUsedSlots());
+        }
+        previousTriggered = triggered;
+
+        // Each alert repeats on its own cooldown; the most important due alert plays
+        AlertType alert = alertScheduler.update(tickCount, triggered);
+        if (alert != null) {
+            String message = getAlertMessage(alert);
+            soundPlayer.play(alert);
+            alertDispatcher.dispatch(alert, message);
+            StreamServer server = streamServer;
+            if (server != null) {
+                server.publishAlert(alert, tickCount, message);
+            }
+        }
+    }
+
+    private String getAlertMessage(AlertType alert) {
+        switch (alert) {
+            case HP:
+                return "Low HP: " + playerInfo.getHpText();
+            case LOGOUT:
+                return "About to be logged out for inactivity";
+            case PRAYER:
+                return "Low prayer: " + playerInfo.getPrayerText();
+            case BOOST:
+                return playerInfo.getBoostText();
+            case TARGET:
+                return playerInfo.getTargetText();
+            case WATCHED_ITEM:
+                return "Running low on " + playerInfo.getWatchedItemText();
+            case IDLE:
+                return "You are idle";
+            case INVENTORY:
+                return "Inventory: " + playerInfo.getInventoryText();
+            case SPECIAL_ATTACK:
+                return "Special attack: " + playerInfo.getSpecialAttackText();
+            default:
+                return alert.name();
         }
     }
 }
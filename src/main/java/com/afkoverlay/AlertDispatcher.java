@@ -0,0 +1,82 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Sends alerts to notification sinks other than sound.
+ * Each sink runs on its own thread behind a small queue that drops the oldest alert when
+ * full, so a slow sink such as a desktop notification daemon never holds up the worker.
+ * Sinks are toggled and rate limited independently.
+ */
+@Slf4j
+public class AlertDispatcher {
+    private static final int QUEUE_SIZE = 4;
+
+    private final List<Sink> sinks = new ArrayList<>();
+
+    /**
+     * Adds a sink. The action runs on the sink's own thread.
+     */
+    public void addSink(String name, BooleanSupplier enabled, long minIntervalMs, BiConsumer<AlertType, String> action) {
+        sinks.add(new Sink(name, enabled, minIntervalMs, action));
+    }
+
+    /**
+     * Queues the alert on every enabled sink that is not rate limited. Never blocks.
+     */
+    public void dispatch(AlertType type, String message) {
+        long now = System.currentTimeMillis();
+        for (Sink sink : sinks) {
+            if (!sink.enabled.getAsBoolean() || now - sink.lastDispatchMs < sink.minIntervalMs) {
+                continue;
+            }
+            sink.lastDispatchMs = now;
+            sink.executor.execute(() -> {
+                try {
+                    sink.action.accept(type, message);
+                } catch (RuntimeException e) {
+                    log.warn("Alert sink {} failed", sink.name, e);
+                }
+            });
+        }
+    }
+
+    public void shutdown() {
+        for (Sink sink : sinks) {
+            sink.executor.shutdownNow();
+        }
+        sinks.clear();
+    }
+
+    private static class Sink {
+        private final String name;
+        private final BooleanSupplier enabled;
+        private final long minIntervalMs;
+        private final BiConsumer<AlertType, String> action;
+        private final ThreadPoolExecutor executor;
+        private long lastDispatchMs = Long.MIN_VALUE / 2;
+
+        Sink(String name, BooleanSupplier enabled, long minIntervalMs, BiConsumer<AlertType, String> action) {
+            this.name = name;
+            this.enabled = enabled;
+            this.minIntervalMs = minIntervalMs;
+            this.action = action;
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "AFK Overlay " + name);
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardOldestPolicy());
+        }
+    }
+}
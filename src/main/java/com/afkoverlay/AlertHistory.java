@@ -0,0 +1,51 @@
+package com.afkoverlay;
+
+/**
+ * The most recent alerts, kept in fixed primitive ring buffers so memory stays the same
+ * no matter how long the session runs. Written by the worker and read by the window.
+ */
+public class AlertHistory {
+    public static final int CAPACITY = 200;
+
+    private final long[] timesMs = new long[CAPACITY];
+    private final int[] ticks = new int[CAPACITY];
+    private final int[] types = new int[CAPACITY];
+    private final int[] hp = new int[CAPACITY];
+    private final int[] prayer = new int[CAPACITY];
+    private final int[] inventory = new int[CAPACITY];
+    private int next = 0;
+    private int count = 0;
+
+    public synchronized void record(long timeMs, int tick, AlertType type, int currentHp, int currentPrayer, int inventoryUsedSlots) {
+        timesMs[next] = timeMs;
+        ticks[next] = tick;
+        types[next] = type.ordinal();
+        hp[next] = currentHp;
+        prayer[next] = currentPrayer;
+        inventory[next] = inventoryUsedSlots;
+        next = (next + 1) % CAPACITY;
+        count = Math.min(count + 1, CAPACITY);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized void clear() {
+        next = 0;
+        count = 0;
+    }
+
+    /**
+     * Formats one entry, 0 being the newest, or returns null if there is no such entry.
+     */
+    public synchronized String format(int newestIndex) {
+        if (newestIndex < 0 || newestIndex >= count) {
+            return null;
+        }
+
+        int slot = (next - 1 - newestIndex + CAPACITY) % CAPACITY;
+        return String.format("%tR %s (HP %d, Pray %d, Inv %d)", timesMs[slot],
+            AlertType.fromOrdinal(types[slot]).getDisplayName(), hp[slot], prayer[slot], inventory[slot]);
+    }
+}
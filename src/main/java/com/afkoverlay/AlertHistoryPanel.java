@@ -0,0 +1,74 @@
+package com.afkoverlay;
+
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * Shows a few alert history entries at a time, scrolled with the mouse wheel.
+ * Only the visible entries are formatted and drawn, however long the history is.
+ */
+public class AlertHistoryPanel extends JComponent {
+    public static final int VISIBLE_ROWS = 5;
+
+    private final AlertHistory history;
+    private final Color textColor;
+    // Number of newer entries scrolled past
+    private int scrollOffset = 0;
+
+    public AlertHistoryPanel(AlertHistory history, Color textColor) {
+        this.history = history;
+        this.textColor = textColor;
+        setOpaque(false);
+        setAlignmentX(LEFT_ALIGNMENT);
+
+        addMouseWheelListener(e -> {
+            int maxOffset = Math.max(0, history.size() - VISIBLE_ROWS);
+            scrollOffset = Math.max(0, Math.min(maxOffset, scrollOffset + e.getWheelRotation()));
+            repaint();
+        });
+    }
+
+    public void scrollToNewest() {
+        scrollOffset = 0;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics fm = getFontMetrics(getFont());
+        return new Dimension(0, fm.getHeight() * VISIBLE_ROWS);
+    }
+
+    @Override
+    public Dimension getMaximumSize() {
+        return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g.create();
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(getFont());
+        g2d.setColor(textColor);
+
+        FontMetrics fm = g2d.getFontMetrics();
+        int y = fm.getAscent();
+        for (int row = 0; row < VISIBLE_ROWS; row++) {
+            String entry = history.format(scrollOffset + row);
+            if (entry == null) {
+                if (row == 0) {
+                    g2d.drawString("No alerts yet", 0, y);
+                }
+                break;
+            }
+            g2d.drawString(entry, 0, y);
+            y += fm.getHeight();
+        }
+
+        g2d.dispose();
+    }
+}
@@ -0,0 +1,89 @@
+package com.afkoverlay;
+
+import java.util.Arrays;
+
+/**
+ * Decides which alert sounds play on each game tick.
+ * Every alert type has its own cooldown, so one alert never silences another. Repeats are
+ * kept in a timing wheel of per-tick bit masks, which makes scheduling and firing a few
+ * array operations with no allocation. An alert that stays active repeats a tick sooner
+ * each time, down to a minimum interval. Only the highest priority due alert plays on a
+ * tick; the others wait for the next one.
+ * Only used on the worker thread.
+ */
+public class AlertScheduler {
+    // Must be larger than the longest cooldown
+    private static final int WHEEL_SIZE = 32;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int MIN_INTERVAL_TICKS = 2;
+
+    // Alert bits due at each tick, indexed by tick & WHEEL_MASK
+    private final int[] wheel = new int[WHEEL_SIZE];
+    // Per alert type ordinal
+    private final int[] dueTick = new int[AlertType.values().length];
+    private final int[] repeats = new int[AlertType.values().length];
+    private int activeMask = 0;
+    private int lastTick = -1;
+
+    /**
+     * Applies the alerts active on this tick and returns the one that should play, or null.
+     */
+    public AlertType update(int tick, int triggeredMask) {
+        if (lastTick >= 0 && tick < lastTick) {
+            reset(); // Tick counter restarted
+        }
+
+        // Alerts that cleared stop repeating and start from their base cooldown next time
+        int cleared = activeMask & ~triggeredMask;
+        for (int remaining = cleared; remaining != 0; remaining &= remaining - 1) {
+            int index = Integer.numberOfTrailingZeros(remaining);
+            wheel[dueTick[index] & WHEEL_MASK] &= ~(1 << index);
+            repeats[index] = 0;
+        }
+
+        // New alerts are due straight away
+        int started = triggeredMask & ~activeMask;
+        for (int remaining = started; remaining != 0; remaining &= remaining - 1) {
+            schedule(Integer.numberOfTrailingZeros(remaining), tick);
+        }
+        activeMask = triggeredMask;
+
+        // Collect everything that came due since the last tick. A second update on the same
+        // tick sweeps its slot again, so an alert that started since the first one still plays
+        int due = 0;
+        int steps = lastTick < 0 ? 1 : Math.max(1, Math.min(tick - lastTick, WHEEL_SIZE));
+        for (int i = steps - 1; i >= 0; i--) {
+            int slot = (tick - i) & WHEEL_MASK;
+            due |= wheel[slot];
+            wheel[slot] = 0;
+        }
+        lastTick = tick;
+
+        AlertType alert = AlertType.highest(due);
+        if (alert == null) {
+            return null;
+        }
+
+        // The played alert repeats after its cooldown; the rest try again next tick
+        int played = alert.ordinal();
+        for (int remaining = due & ~(1 << played); remaining != 0; remaining &= remaining - 1) {
+            schedule(Integer.numberOfTrailingZeros(remaining), tick + 1);
+        }
+        int interval = Math.max(MIN_INTERVAL_TICKS, alert.getCooldownTicks() - repeats[played]);
+        repeats[played]++;
+        schedule(played, tick + Math.min(interval, WHEEL_MASK));
+        return alert;
+    }
+
+    private void schedule(int index, int tick) {
+        dueTick[index] = tick;
+        wheel[tick & WHEEL_MASK] |= 1 << index;
+    }
+
+    public void reset() {
+        Arrays.fill(wheel, 0);
+        Arrays.fill(repeats, 0);
+        activeMask = 0;
+        lastTick = -1;
+    }
+}
@@ -0,0 +1,171 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays alert sounds on a dedicated thread.
+ * Every clip is synthesized into memory once at startup, and playback only scales the
+ * samples by the volume into a reused buffer, so playing an alert does no decoding,
+ * allocation or work on the client thread. The sink stays open between alerts so each
+ * one starts straight away; releasing it when idle is opt-in.
+ */
+@Slf4j
+public class AlertSoundPlayer {
+    public static final AudioFormat FORMAT = new AudioFormat(22050f, 16, 1, true, false);
+
+    private static final int QUEUE_SIZE = 4;
+    // Fade in and out to avoid clicks between tones
+    private static final int FADE_SAMPLES = 220;
+    private static final double AMPLITUDE = 0.6;
+    // Long enough that alerts close together never reopen the line
+    public static final long IDLE_RELEASE_MS = 60000;
+
+    private final AudioSink sink;
+    private final short[][] clips = new short[AlertType.values().length][];
+    private final byte[] buffer;
+    private final BlockingQueue<AlertType> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    // 0 keeps the sink open until the player stops
+    private volatile long idleReleaseMs;
+    private volatile int volume = 50;
+    private Thread thread;
+
+    public AlertSoundPlayer(AudioSink sink) {
+        this(sink, 0);
+    }
+
+    AlertSoundPlayer(AudioSink sink, long idleReleaseMs) {
+        this.sink = sink;
+        this.idleReleaseMs = idleReleaseMs;
+
+        int longestClip = 0;
+        for (AlertType type : AlertType.values()) {
+            clips[type.ordinal()] = synthesize(type.getTones());
+            longestClip = Math.max(longestClip, clips[type.ordinal()].length);
+        }
+        buffer = new byte[longestClip * 2];
+    }
+
+    private static short[] synthesize(int[] tones) {
+        int sampleRate = (int) FORMAT.getSampleRate();
+        int length = 0;
+        for (int i = 1; i < tones.length; i += 2) {
+            length += tones[i] * sampleRate / 1000;
+        }
+
+        short[] samples = new short[length];
+        int offset = 0;
+        for (int i = 0; i < tones.length; i += 2) {
+            int frequency = tones[i];
+            int toneLength = tones[i + 1] * sampleRate / 1000;
+            if (frequency > 0) {
+                int fade = Math.min(FADE_SAMPLES, toneLength / 2);
+                for (int s = 0; s < toneLength; s++) {
+                    double envelope = Math.min(1.0, Math.min(s, toneLength - 1 - s) / (double) fade);
+                    double value = Math.sin(2 * Math.PI * frequency * s / sampleRate) * envelope * AMPLITUDE;
+                    samples[offset + s] = (short) (value * Short.MAX_VALUE);
+                }
+            }
+            offset += toneLength;
+        }
+        return samples;
+    }
+
+    public void start() {
+        thread = new Thread(this::run, "AFK Overlay audio");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() throws InterruptedException {
+        if (thread != null) {
+            thread.interrupt();
+            thread.join(1000);
+            thread = null;
+        }
+        queue.clear();
+    }
+
+    /**
+     * Volume from 0 to 100.
+     */
+    public void setVolume(int volume) {
+        this.volume = volume;
+    }
+
+    /**
+     * Whether to release the sink after {@link #IDLE_RELEASE_MS} without alerts.
+     * Takes effect from the next alert.
+     */
+    public void setReleaseWhenIdle(boolean release) {
+        idleReleaseMs = release ? IDLE_RELEASE_MS : 0;
+    }
+
+    /**
+     * Queues an alert sound. Dropped if too many sounds are already waiting.
+     */
+    public void play(AlertType type) {
+        queue.offer(type);
+    }
+
+    private void run() {
+        try {
+            boolean written = false;
+            while (!Thread.currentThread().isInterrupted()) {
+                long releaseMs = idleReleaseMs;
+                AlertType type = written && releaseMs > 0 ? queue.poll(releaseMs, TimeUnit.MILLISECONDS) : queue.take();
+                if (type == null) {
+                    sink.release();
+                    written = false;
+                    continue;
+                }
+
+                try {
+                    int length = render(clips[type.ordinal()], volume);
+                    if (length > 0) {
+                        sink.write(buffer, length);
+                        written = true;
+                    }
+                } catch (RuntimeException e) {
+                    // Only this alert is lost; the sink opens again for the next one
+                    log.warn("Alert sound playback failed", e);
+                    closeSink();
+                    written = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Plugin stopped
+        } finally {
+            sink.close();
+        }
+    }
+
+    private void closeSink() {
+        try {
+            sink.close();
+        } catch (RuntimeException e) {
+            log.warn("Unable to close the sound device", e);
+        }
+    }
+
+    /**
+     * Scales a clip by the volume into the shared buffer. Returns the number of bytes written.
+     */
+    private int render(short[] clip, int volume) {
+        if (volume <= 0) {
+            return 0;
+        }
+
+        int index = 0;
+        for (short sample : clip) {
+            int scaled = sample * volume / 100;
+            buffer[index++] = (byte) scaled;
+            buffer[index++] = (byte) (scaled >> 8);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,27 @@
+package com.afkoverlay;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Threshold values used for background highlights and sound alerts.
+ * Instances are immutable so they can be swapped between threads as a whole.
+ */
+@Value
+@With
+public class AlertThresholds {
+    private final int lowHp;
+    private final int lowPrayer;
+    private final int highSpecialAttack;
+    private final int inventory;
+    private final int idleMs;
+
+    public static AlertThresholds fromConfig(AFKOverlayConfig config) {
+        return new AlertThresholds(
+            config.lowHpThresholdValue(),
+            config.lowPrayerThresholdValue(),
+            config.highSpecialAttackThresholdValue(),
+            config.invThresholdValue(),
+            config.idleThresholdMs());
+    }
+}
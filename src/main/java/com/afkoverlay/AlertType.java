@@ -0,0 +1,60 @@
+package com.afkoverlay;
+
+/**
+ * Alerts that can play a sound, in priority order.
+ * Each type has its own cooldown, and its own tone pattern so alerts can be told apart without looking.
+ */
+public enum AlertType {
+    // Name, cooldown in game ticks, then the tone pattern as pairs of frequency in Hz (0 for silence) and duration in ms
+    HP("Low HP", 4, 880, 120, 0, 60, 880, 120),
+    LOGOUT("Logout", 3, 988, 100, 0, 40, 988, 100, 0, 40, 988, 100),
+    PRAYER("Low prayer", 4, 660, 150, 0, 50, 990, 150),
+    BOOST("Boost", 10, 698, 150, 0, 50, 698, 150),
+    TARGET("Target", 5, 784, 120, 523, 180),
+    WATCHED_ITEM("Item low", 10, 587, 120, 0, 60, 440, 180),
+    IDLE("Idle", 5, 392, 250),
+    INVENTORY("Inventory", 10, 440, 200),
+    SPECIAL_ATTACK("Special attack", 10, 523, 100, 659, 100, 784, 150);
+
+    private static final AlertType[] VALUES = values();
+
+    private final String displayName;
+    private final int cooldownTicks;
+    private final int[] tones;
+
+    AlertType(String displayName, int cooldownTicks, int... tones) {
+        this.displayName = displayName;
+        this.cooldownTicks = cooldownTicks;
+        this.tones = tones;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Ticks between repeats while the alert stays active, before escalation.
+     */
+    public int getCooldownTicks() {
+        return cooldownTicks;
+    }
+
+    int[] getTones() {
+        return tones;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * The highest priority alert in a mask of alert bits, or null if the mask is empty.
+     */
+    public static AlertType highest(int mask) {
+        return mask == 0 ? null : VALUES[Integer.numberOfTrailingZeros(mask)];
+    }
+
+    public static AlertType fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,35 @@
+package com.afkoverlay;
+
+/**
+ * Destination for rendered alert audio.
+ */
+public interface AudioSink {
+    /**
+     * Sink used when no sound device is available. Discards everything.
+     */
+    AudioSink NONE = new AudioSink() {
+        @Override
+        public void write(byte[] data, int length) {
+        }
+
+        @Override
+        public void release() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Writes 16-bit signed little-endian mono PCM in {@link AlertSoundPlayer#FORMAT}, blocking until it is queued.
+     */
+    void write(byte[] data, int length);
+
+    /**
+     * Lets go of the output device after the queued audio has played. The next write acquires it again.
+     */
+    void release();
+
+    void close();
+}
@@ -0,0 +1,118 @@
+package com.afkoverlay;
+
+import net.runelite.api.Skill;
+
+import java.util.Arrays;
+
+/**
+ * Predicts when potion boosts run out.
+ * Boosted stats drop by one level every 100 game ticks on a timer shared by all skills.
+ * The timer is a countdown advanced by elapsed ticks and re-synced whenever a boost is
+ * seen decaying by one level. Hitpoints and prayer restore differently and are ignored.
+ * Each boost raises its alert once, a lead time before it falls below the margin.
+ * Only used on the worker thread.
+ */
+public class BoostTracker {
+    public static final int RESTORE_INTERVAL_TICKS = 100;
+    // Boost alerts warn at least this early, even with early alerts turned off
+    public static final int MIN_LEAD_TICKS = 10;
+    // A raised alert stays up for less than its repeat interval, so it plays once
+    // even when a higher priority alert holds it back for a tick or two
+    private static final int ALERT_TICKS = AlertType.BOOST.getCooldownTicks() - 1;
+
+    private static final long IGNORED_SKILLS = (1L << Skill.HITPOINTS.ordinal()) | (1L << Skill.PRAYER.ordinal());
+
+    // Levels above the real level, by skill ordinal
+    private final int[] boost = new int[SkillLevels.SKILLS.length];
+    // Set when a skill is boosted to the margin and cleared once its alert is raised
+    private final boolean[] armed = new boolean[SkillLevels.SKILLS.length];
+    private int ticksUntilRestore = RESTORE_INTERVAL_TICKS;
+    private int lastTick = -1;
+
+    // Results of the last update
+    private int soonestSkill = -1;
+    private int soonestExpiryTicks = -1;
+    private int alertUntilTick = -1;
+
+    /**
+     * Advances the restore countdown and applies the skills in the changed mask.
+     * Raises the alert for a boost that will fall below the margin within the lead time.
+     */
+    public void update(int tick, long changedMask, int[] boosted, int[] real, int margin, int leadTicks) {
+        if (lastTick >= 0 && tick > lastTick) {
+            ticksUntilRestore -= tick - lastTick;
+            while (ticksUntilRestore <= 0) {
+                ticksUntilRestore += RESTORE_INTERVAL_TICKS;
+            }
+        }
+        lastTick = tick;
+
+        for (long remaining = changedMask & ~IGNORED_SKILLS; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            int newBoost = boosted[index] - real[index];
+            if (boost[index] > 0 && newBoost == boost[index] - 1) {
+                // A boost just decayed, so the restore timer fired this tick
+                ticksUntilRestore = RESTORE_INTERVAL_TICKS;
+            }
+            if (newBoost > boost[index] && newBoost >= margin) {
+                armed[index] = true; // A new boost
+            } else if (newBoost <= 0) {
+                armed[index] = false;
+            }
+            boost[index] = newBoost;
+        }
+
+        soonestSkill = -1;
+        soonestExpiryTicks = -1;
+        for (int i = 0; i < boost.length; i++) {
+            if (armed[i]) {
+                int marginTicks = boost[i] < margin ? 0 : ticksUntilRestore + (boost[i] - margin) * RESTORE_INTERVAL_TICKS;
+                if (marginTicks <= leadTicks) {
+                    armed[i] = false;
+                    alertUntilTick = tick + ALERT_TICKS;
+                }
+            }
+            if (boost[i] <= 0) {
+                continue;
+            }
+
+            int expiryTicks = ticksUntilRestore + (boost[i] - 1) * RESTORE_INTERVAL_TICKS;
+            if (soonestExpiryTicks < 0 || expiryTicks < soonestExpiryTicks) {
+                soonestSkill = i;
+                soonestExpiryTicks = expiryTicks;
+            }
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(boost, 0);
+        Arrays.fill(armed, false);
+        ticksUntilRestore = RESTORE_INTERVAL_TICKS;
+        lastTick = -1;
+        soonestSkill = -1;
+        soonestExpiryTicks = -1;
+        alertUntilTick = -1;
+    }
+
+    /**
+     * The boosted skill that runs out first, or null if nothing is boosted.
+     */
+    public Skill getSoonestSkill() {
+        return soonestSkill < 0 ? null : SkillLevels.SKILLS[soonestSkill];
+    }
+
+    public int getSoonestBoost() {
+        return soonestSkill < 0 ? 0 : boost[soonestSkill];
+    }
+
+    public int getSoonestExpiryTicks() {
+        return soonestExpiryTicks;
+    }
+
+    /**
+     * True for a few ticks after a boost raised its alert.
+     */
+    public boolean isAlerting() {
+        return lastTick >= 0 && lastTick <= alertUntilTick;
+    }
+}
@@ -0,0 +1,57 @@
+package com.afkoverlay;
+
+/**
+ * Bounded handoff of tick captures from the client thread to the worker thread.
+ * When the worker falls behind the oldest capture is overwritten, so the client
+ * thread never waits and never allocates.
+ */
+public class CaptureRing {
+    private final TickCapture[] slots;
+    private int head = 0;
+    private int size = 0;
+    private long dropped = 0;
+
+    public CaptureRing(int capacity) {
+        slots = new TickCapture[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new TickCapture();
+        }
+    }
+
+    /**
+     * Copies the capture into the ring, dropping the oldest entry if the ring is full.
+     */
+    public synchronized void offer(TickCapture capture) {
+        if (size == slots.length) {
+            head = (head + 1) % slots.length;
+            size--;
+            dropped++;
+        }
+
+        slots[(head + size) % slots.length].copyFrom(capture);
+        size++;
+        notifyAll();
+    }
+
+    /**
+     * Blocks until a capture is available and copies it into the target.
+     */
+    public synchronized void take(TickCapture target) throws InterruptedException {
+        while (size == 0) {
+            wait();
+        }
+
+        target.copyFrom(slots[head]);
+        head = (head + 1) % slots.length;
+        size--;
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,77 @@
+package com.afkoverlay;
+
+import net.runelite.api.Item;
+
+import java.util.Arrays;
+
+/**
+ * Incremental index of an item container.
+ * Each update only touches the slots that changed, and item quantities are kept in a
+ * primitive map so "how many of this item" is an O(1) lookup.
+ */
+public class ContainerIndex {
+    private int[] slotIds = new int[0];
+    private int[] slotQuantities = new int[0];
+    private final IntIntMap quantities = new IntIntMap(32);
+    private volatile int usedSlots = 0;
+
+    /**
+     * Applies the current container contents, updating only the slots that differ.
+     */
+    public synchronized void update(Item[] items) {
+        if (items == null) {
+            clear();
+            return;
+        }
+
+        if (items.length > slotIds.length) {
+            int oldLength = slotIds.length;
+            slotIds = Arrays.copyOf(slotIds, items.length);
+            slotQuantities = Arrays.copyOf(slotQuantities, items.length);
+            Arrays.fill(slotIds, oldLength, items.length, -1);
+        }
+
+        int used = usedSlots;
+        for (int slot = 0; slot < slotIds.length; slot++) {
+            int id = -1;
+            int quantity = 0;
+            if (slot < items.length && items[slot] != null && items[slot].getId() >= 0) {
+                id = items[slot].getId();
+                quantity = items[slot].getQuantity();
+            }
+
+            int oldId = slotIds[slot];
+            int oldQuantity = slotQuantities[slot];
+            if (id == oldId && quantity == oldQuantity) {
+                continue;
+            }
+
+            if (oldId >= 0) {
+                quantities.add(oldId, -oldQuantity);
+                used--;
+            }
+            if (id >= 0) {
+                quantities.add(id, quantity);
+                used++;
+            }
+            slotIds[slot] = id;
+            slotQuantities[slot] = quantity;
+        }
+        usedSlots = used;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(slotIds, -1);
+        Arrays.fill(slotQuantities, 0);
+        quantities.clear();
+        usedSlots = 0;
+    }
+
+    public int getUsedSlots() {
+        return usedSlots;
+    }
+
+    public synchronized int getQuantity(int itemId) {
+        return itemId < 0 ? 0 : quantities.get(itemId);
+    }
+}
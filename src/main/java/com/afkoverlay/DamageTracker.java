@@ -0,0 +1,106 @@
+package com.afkoverlay;
+
+import java.util.Arrays;
+
+/**
+ * Damage taken and HP healed over the last minute, bucketed per game tick.
+ * Buckets are fixed primitive arrays that are zeroed as the window moves, so any
+ * number of hitsplats per tick costs constant memory and allocates nothing.
+ */
+public class DamageTracker {
+    public static final int WINDOW_TICKS = 100; // One minute
+    // Rates over fewer ticks than this are too noisy to show
+    private static final int MIN_OBSERVED_TICKS = 10;
+
+    private final int[] damage = new int[WINDOW_TICKS];
+    private final int[] healing = new int[WINDOW_TICKS];
+    private int damageSum = 0;
+    private int healingSum = 0;
+    private int headTick = -1;
+    private int firstTick = -1;
+
+    public synchronized void onDamage(int tick, int amount) {
+        advance(tick);
+        damage[tick % WINDOW_TICKS] += amount;
+        damageSum += amount;
+    }
+
+    public synchronized void onHealing(int tick, int amount) {
+        advance(tick);
+        healing[tick % WINDOW_TICKS] += amount;
+        healingSum += amount;
+    }
+
+    /**
+     * Moves the window to the given tick, dropping buckets that fell out of it.
+     * Ticks slightly behind the window head, such as healing seen by the worker
+     * after the client thread recorded newer damage, leave the window where it is.
+     */
+    public synchronized void advance(int tick) {
+        if (headTick < 0 || headTick - tick >= WINDOW_TICKS) {
+            // First sample, or the tick counter restarted
+            reset();
+            headTick = tick;
+            firstTick = tick;
+            return;
+        }
+        if (tick <= headTick) {
+            return;
+        }
+
+        int steps = Math.min(tick - headTick, WINDOW_TICKS);
+        for (int i = 1; i <= steps; i++) {
+            int slot = (headTick + i) % WINDOW_TICKS;
+            damageSum -= damage[slot];
+            healingSum -= healing[slot];
+            damage[slot] = 0;
+            healing[slot] = 0;
+        }
+        headTick = tick;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(damage, 0);
+        Arrays.fill(healing, 0);
+        damageSum = 0;
+        healingSum = 0;
+        headTick = -1;
+        firstTick = -1;
+    }
+
+    private int getObservedTicks() {
+        if (headTick < 0) {
+            return 0;
+        }
+        return Math.min(WINDOW_TICKS, headTick - firstTick + 1);
+    }
+
+    public synchronized int getDamagePerMinute() {
+        return perMinute(damageSum);
+    }
+
+    public synchronized int getHealingPerMinute() {
+        return perMinute(healingSum);
+    }
+
+    private int perMinute(int amount) {
+        int observed = getObservedTicks();
+        if (observed < MIN_OBSERVED_TICKS) {
+            return 0;
+        }
+        return amount * WINDOW_TICKS / observed;
+    }
+
+    /**
+     * Game ticks until the given HP reaches zero at the current net damage rate,
+     * or -1 if healing keeps up with the damage.
+     */
+    public synchronized int ticksToDeath(int hp) {
+        int observed = getObservedTicks();
+        int netDamage = damageSum - healingSum;
+        if (observed < MIN_OBSERVED_TICKS || netDamage <= 0 || hp <= 0) {
+            return -1;
+        }
+        return (int) (((long) hp * observed + netDamage - 1) / netDamage);
+    }
+}
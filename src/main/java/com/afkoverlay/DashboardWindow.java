@@ -0,0 +1,93 @@
+package com.afkoverlay;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A compact window listing every client that publishes to the shared dashboard.
+ * It reads the shared file once a second into reused snapshots, so clients never
+ * talk to each other directly.
+ */
+public class DashboardWindow extends JFrame {
+    private static final int REFRESH_MS = 1000;
+    private static final int PADDING = 8;
+    private static final Color BACKGROUND_COLOR = new Color(30, 30, 30);
+
+    private final SharedDashboard dashboard;
+    private final PlayerInfo[] entries = new PlayerInfo[SharedDashboard.MAX_SLOTS];
+    private final JLabel[] rows = new JLabel[SharedDashboard.MAX_SLOTS];
+    private final JLabel emptyLabel = new JLabel("No clients publishing");
+    private final Timer refreshTimer;
+    private int shownCount = -1;
+
+    public DashboardWindow(SharedDashboard dashboard) {
+        super("AFK Overlay Dashboard");
+        this.dashboard = dashboard;
+
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setAlwaysOnTop(true);
+
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(BorderFactory.createEmptyBorder(PADDING, PADDING, PADDING, PADDING));
+
+        Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+        for (int i = 0; i < rows.length; i++) {
+            entries[i] = new PlayerInfo();
+            rows[i] = new JLabel();
+            rows[i].setFont(font);
+            rows[i].setVisible(false);
+            panel.add(rows[i]);
+        }
+        emptyLabel.setFont(font);
+        emptyLabel.setForeground(FloatingOverlayWindow.Constants.DARK_TEXT_COLOR);
+        panel.add(emptyLabel);
+        setContentPane(panel);
+
+        refreshTimer = new Timer(REFRESH_MS, e -> refresh());
+        refreshTimer.setInitialDelay(0);
+        refreshTimer.start();
+    }
+
+    private void refresh() {
+        int count = dashboard.read(entries, System.currentTimeMillis());
+        for (int i = 0; i < count; i++) {
+            PlayerInfo entry = entries[i];
+            rows[i].setText(formatRow(entry));
+            rows[i].setForeground(getRowColor(entry));
+        }
+
+        if (count != shownCount) {
+            for (int i = 0; i < rows.length; i++) {
+                rows[i].setVisible(i < count);
+            }
+            emptyLabel.setVisible(count == 0);
+            shownCount = count;
+            pack();
+        }
+    }
+
+    private static String formatRow(PlayerInfo entry) {
+        String name = entry.getCharacterName().isEmpty() ? "-" : entry.getCharacterName();
+        return String.format("%-12s HP %3d/%-3d Pray %3d/%-3d Inv %2d/28 %s", name,
+            entry.getCurrentHp(), entry.getMaxHp(), entry.getCurrentPrayer(), entry.getMaxPrayer(),
+            entry.getInventoryUsedSlots(), entry.getStatusText());
+    }
+
+    private static Color getRowColor(PlayerInfo entry) {
+        switch (entry.getIdleState()) {
+            case LOGOUT_IMMINENT:
+            case LOGGED_OUT:
+                return FloatingOverlayWindow.Constants.DANGER_COLOR;
+            default:
+                return entry.isIdle() ? FloatingOverlayWindow.Constants.IDLE_COLOR : FloatingOverlayWindow.Constants.ACTIVE_COLOR;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        refreshTimer.stop();
+        super.dispose();
+    }
+}
@@ -5,12 +5,15 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import net.runelite.client.util.ImageUtil;
 import net.runelite.client.config.ConfigManager;
 
 public class FloatingOverlayWindow extends JFrame {
     // Constants
-    private static class Constants {
+    static class Constants {
         // Window sizing
         static final int RESIZE_BORDER = 5;
         static final int MIN_WIDTH = 50;
@@ -36,6 +39,14 @@ public class FloatingOverlayWindow extends JFrame {
         static final int BUTTON_SPACING = 4;
         static final int DRAG_AREA_HEIGHT = 30;
         
+        // Live resize
+        static final int DEFAULT_REFRESH_RATE = 60;
+        
+        // Alert border pulse
+        static final int PULSE_DURATION_MS = 1500;
+        static final int PULSE_FRAME_MS = 40;
+        static final int PULSE_PERIOD_MS = 500;
+        
         // Colors
         static final Color DARK_BORDER_COLOR = new Color(60, 60, 60, 200);
         static final Color DARK_TEXT_COLOR = new Color(220, 220, 220);
@@ -49,18 +60,39 @@ public class FloatingOverlayWindow extends JFrame {
     }
 
     // Instance variables
-    private final PlayerInfo playerInfo;
+    // Latest snapshot published by the plugin, only touched on the EDT
+    private PlayerInfo displayInfo = new PlayerInfo();
     private final AFKOverlayConfig config;
     private final ConfigManager configManager;
+    private final ProfileStore profileStore;
+    private final AlertHistory alertHistory;
+    private OverlayProfile activeProfile;
+    private volatile AlertThresholds thresholds;
     private JPanel contentPanel;
     private JPanel infoPanel;
     private JLabel hpLabel;
+    private JLabel damageLabel;
     private JLabel prayerLabel;
     private JLabel statusLabel;
     private JLabel inventoryLabel;
     private JLabel specialAttackLabel;
+    private JLabel targetLabel;
+    private JLabel watchedItemLabel;
+    private JLabel xpRateLabel;
+    private JLabel boostLabel;
+    private JLabel historyLabel;
+    private AlertHistoryPanel historyPanel;
+    private boolean historyExpanded = false;
+    // Skill rows by skill ordinal; only skills in skillMask have a label
+    private final JLabel[] skillLabels = new JLabel[SkillLevels.SKILLS.length];
+    private final int[] shownSkillBoosted = new int[SkillLevels.SKILLS.length];
+    private final int[] shownSkillReal = new int[SkillLevels.SKILLS.length];
+    private long skillMask;
     private JPanel titleBar;
     private JLabel characterNameLabel;
+    private final OverlayLayout layout = new OverlayLayout(Constants.MIN_HEIGHT, Constants.MAX_HEIGHT);
+    private final ScreenTopology screenTopology = new ScreenTopology();
+    private final ScaledIconCache iconCache = new ScaledIconCache(Constants.MIN_ICON_SIZE, Constants.MAX_ICON_SIZE);
     
     // Icons
     private BufferedImage hpIcon;
@@ -76,16 +108,37 @@ public class FloatingOverlayWindow extends JFrame {
     private boolean isDragging = false;
     private boolean isResizing = false;
     private int resizeEdge = 0; // 0=none, 1=right, 2=bottom, 3=corner
+    
+    // Live resize state: the size is applied once per display frame and the content
+    // is drawn scaled from a snapshot until the drag ends
+    private Timer resizeTimer;
+    private BufferedImage resizeSnapshot;
+    private int pendingWidth;
+    private int pendingHeight;
+    
+    // Window icon: a status badge, or the plugin icon when the badge is off
+    private final StatusBadge statusBadge = new StatusBadge();
+    private List<Image> defaultIcons = Collections.emptyList();
+    private int shownBadgeKey = StatusBadge.NO_BADGE;
+    
+    // Border pulse after an alert
+    private Timer pulseTimer;
+    private long pulseEndMs;
+    private Color pulseColor;
 
-    public FloatingOverlayWindow(PlayerInfo playerInfo, AFKOverlayConfig config, ConfigManager configManager) {
-        this.playerInfo = playerInfo;
+    public FloatingOverlayWindow(AFKOverlayConfig config, ConfigManager configManager,
+                                 ProfileStore profileStore, AlertHistory alertHistory) {
         this.config = config;
         this.configManager = configManager;
+        this.profileStore = profileStore;
+        this.alertHistory = alertHistory;
+        this.thresholds = AlertThresholds.fromConfig(config);
         
         initializeWindow();
         loadIcons();
         setupContentPanel();
         setupLabels();
+        layout.rebuild(countVisibleRows(), this);
         setupLayout();
         setupEventListeners();
         
@@ -94,6 +147,7 @@ public class FloatingOverlayWindow extends JFrame {
             setSize(250, 150);
         }
         
+        refreshScreens();
         validatePosition();
         updateComponentSizes();
         updateDisplay();
@@ -131,6 +185,31 @@ public class FloatingOverlayWindow extends JFrame {
                     g2d.draw(roundedRectangle);
                 }
                 
+                // Pulse the border after an alert
+                if (pulseColor != null) {
+                    double phase = (double) (System.currentTimeMillis() % Constants.PULSE_PERIOD_MS) / Constants.PULSE_PERIOD_MS;
+                    int alpha = (int) (255 * (0.5 + 0.5 * Math.sin(phase * 2 * Math.PI)));
+                    g2d.setColor(new Color(pulseColor.getRed(), pulseColor.getGreen(), pulseColor.getBlue(), alpha));
+                    g2d.setStroke(new BasicStroke(3f));
+                    g2d.draw(roundedRectangle);
+                }
+                
+                g2d.dispose();
+            }
+            
+            @Override
+            protected void paintChildren(Graphics g) {
+                if (resizeSnapshot == null) {
+                    super.paintChildren(g);
+                    return;
+                }
+                
+                // Scale the cached frame with the height, like the final layout will
+                Graphics2D g2d = (Graphics2D) g.create();
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                double scale = (double) getHeight() / resizeSnapshot.getHeight();
+                int scaledWidth = (int) Math.round(resizeSnapshot.getWidth() * scale);
+                g2d.drawImage(resizeSnapshot, 0, 0, scaledWidth, getHeight(), null);
                 g2d.dispose();
             }
         };
@@ -141,48 +220,43 @@ public class FloatingOverlayWindow extends JFrame {
     }
     
     private Color getBackgroundColor() {
-        // Default background
-        Color backgroundColor = new Color(30, 30, 30, config.opacity());
-        
-        // Priority: HP > Prayer > Status > Inventory
-        int hpValue = playerInfo.getCurrentHp();
-        int prayerValue = playerInfo.getCurrentPrayer();
-        int invCount = playerInfo.getInventoryUsedSlots();
-        
-        if (config.highlightHpBackground() && hpValue <= config.lowHpThresholdValue()) {
-            backgroundColor = config.lowHpOverlayColor();
-        } else if (config.highlightPrayerBackground() && prayerValue <= config.lowPrayerThresholdValue()) {
-            backgroundColor = config.lowPrayerOverlayColor();
-        } else if (config.highlightIdleBackground() && playerInfo.isIdle()) {
-            backgroundColor = config.idleOverlayColor();
-        } else if (config.highlightSpecialAttackBackground() && playerInfo.getSpecialAttackEnergyPercentage() >= config.highSpecialAttackThresholdValue()) {
-            backgroundColor = config.highSpecialAttackOverlayColor();
-        } else if (config.highlightInvBackground()) {
-            boolean highlight = false;
-            switch (config.invHighlightMode()) {
-                case ABOVE:
-                    highlight = invCount > config.invThresholdValue();
-                    break;
-                case BELOW:
-                    highlight = invCount < config.invThresholdValue();
-                    break;
-                case EQUALS:
-                    highlight = invCount == config.invThresholdValue();
-            }
-            if (highlight) {
-                backgroundColor = config.invOverlayColor();
-            }
-        }
-        
-        return backgroundColor;
+        return OverlayHighlight.getBackgroundColor(displayInfo, thresholds, config, new Color(30, 30, 30, config.opacity()));
     }
     
     private void setupLabels() {
         hpLabel = createLabel("", hpIcon);
+        damageLabel = createLabel("", null);
         prayerLabel = createLabel("", prayerIcon);
         statusLabel = createLabel("Status: ACTIVE", null);
         inventoryLabel = createLabel("", inventoryIcon);
         specialAttackLabel = createLabel("", specialAttackIcon);
+        targetLabel = createLabel("", null);
+        watchedItemLabel = createLabel("", null);
+        xpRateLabel = createLabel("", null);
+        boostLabel = createLabel("", null);
+        historyLabel = createLabel("", null);
+        historyLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        historyLabel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                toggleHistory();
+            }
+        });
+        historyPanel = new AlertHistoryPanel(alertHistory, Constants.DARK_TEXT_COLOR);
+        updateSkillMask();
+    }
+    
+    private void updateSkillMask() {
+        skillMask = SkillLevels.parseSkillMask(config.skillRows());
+        for (long remaining = skillMask; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            if (skillLabels[index] == null) {
+                skillLabels[index] = createLabel("", null);
+            }
+        }
+        
+        // Redraw every skill row on the next update
+        Arrays.fill(shownSkillBoosted, -1);
     }
     
     private void setupLayout() {
@@ -192,11 +266,18 @@ public class FloatingOverlayWindow extends JFrame {
         infoPanel.setOpaque(false);
         
         // Conditionally add components based on config
-        addComponentIfVisible(config.showHp(), hpLabel);
-        addComponentIfVisible(config.showPrayer(), prayerLabel);
-        addComponentIfVisible(config.showInventory(), inventoryLabel);
-        addComponentIfVisible(config.showSpecialAttack(), specialAttackLabel);
-        addComponentIfVisible(config.showStatus(), statusLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_HP), hpLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_DAMAGE), damageLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_PRAYER), prayerLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_INVENTORY), inventoryLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_SPECIAL_ATTACK), specialAttackLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_TARGET), targetLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_WATCHED_ITEM), watchedItemLabel);
+        addSkillRows();
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_XP_RATE), xpRateLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_BOOST), boostLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_STATUS), statusLabel);
+        addHistoryRows();
         
         contentPanel.add(infoPanel, BorderLayout.CENTER);
         
@@ -215,6 +296,36 @@ public class FloatingOverlayWindow extends JFrame {
         }
     }
     
+    private void addHistoryRows() {
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_HISTORY), historyLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_HISTORY) && historyExpanded, historyPanel);
+    }
+    
+    /**
+     * Expands or collapses the alert history, growing the window to fit it.
+     */
+    private void toggleHistory() {
+        historyExpanded = !historyExpanded;
+        historyPanel.scrollToNewest();
+        
+        int delta = historyPanel.getPreferredSize().height + Constants.COMPONENT_SPACING;
+        setSize(getWidth(), Math.max(Constants.MIN_HEIGHT, getHeight() + (historyExpanded ? delta : -delta)));
+        
+        rebuildInfoPanel();
+        layout.rebuild(countVisibleRows(), this);
+        validatePosition();
+        updateComponentSizes();
+        updateHistoryDisplay();
+        contentPanel.revalidate();
+        contentPanel.repaint();
+    }
+    
+    private void addSkillRows() {
+        for (long remaining = skillMask; remaining != 0; remaining &= remaining - 1) {
+            addComponentIfVisible(true, skillLabels[Long.numberOfTrailingZeros(remaining)]);
+        }
+    }
+    
     private JPanel createTitleBar() {
         JPanel titleBar = new JPanel(new BorderLayout());
         titleBar.setOpaque(false);
@@ -222,7 +333,7 @@ public class FloatingOverlayWindow extends JFrame {
         
         // Create character name label
         characterNameLabel = new JLabel("");
-        characterNameLabel.setFont(new Font("Arial", Font.BOLD, Constants.MIN_FONT_SIZE));
+        characterNameLabel.setFont(layout.getFontForSize(Constants.MIN_FONT_SIZE));
         characterNameLabel.setForeground(Constants.DARK_TEXT_COLOR);
         characterNameLabel.setBorder(BorderFactory.createEmptyBorder(0, Constants.PADDING, 0, 0));
         
@@ -294,7 +405,7 @@ public class FloatingOverlayWindow extends JFrame {
     
     private JLabel createLabel(String text, BufferedImage icon) {
         JLabel label = new JLabel(text);
-        label.setFont(new Font("Arial", Font.BOLD, Constants.MIN_FONT_SIZE));
+        label.setFont(layout.getFontForSize(Constants.MIN_FONT_SIZE));
         label.setForeground(Constants.DARK_TEXT_COLOR);
         
         // Set icon if available
@@ -329,15 +440,31 @@ public class FloatingOverlayWindow extends JFrame {
         addComponentListener(new ComponentAdapter() {
             @Override
             public void componentResized(ComponentEvent e) {
-                savePositionAndSize();
+                // Saved once on mouse release while resizing
+                if (!isResizing) {
+                    savePositionAndSize();
+                }
             }
             
             @Override
             public void componentMoved(ComponentEvent e) {
-                savePositionAndSize();
+                // Saved once on mouse release while dragging
+                if (!isDragging) {
+                    savePositionAndSize();
+                }
+            }
+            
+            @Override
+            public void componentShown(ComponentEvent e) {
+                // Screens may have changed while the window was hidden
+                refreshScreens();
             }
         });
         
+        // The window gets a new graphics configuration when it moves to another screen
+        // and when screens are added, removed or reconfigured
+        addPropertyChangeListener("graphicsConfiguration", e -> refreshScreens());
+        
         // Mouse listeners for dragging and resizing
         addMouseListeners();
     }
@@ -368,10 +495,18 @@ public class FloatingOverlayWindow extends JFrame {
                     dragPoint = p;
                     setCursor(Cursor.getPredefinedCursor(Cursor.MOVE_CURSOR));
                 }
+                
+                if (isResizing) {
+                    beginLiveResize();
+                }
             }
             
             @Override
             public void mouseReleased(MouseEvent e) {
+                if (isResizing) {
+                    endLiveResize();
+                }
+                
                 if (isDragging || isResizing) {
                     savePositionAndSize();
                     validatePosition();
@@ -403,7 +538,9 @@ public class FloatingOverlayWindow extends JFrame {
                         newHeight = Math.max(Constants.MIN_HEIGHT, Math.min(Constants.MAX_HEIGHT, p.y));
                     }
                     
-                    setSize(newWidth, newHeight);
+                    // Applied by the resize timer on the next display frame
+                    pendingWidth = newWidth;
+                    pendingHeight = newHeight;
                 }
             }
             
@@ -428,6 +565,60 @@ public class FloatingOverlayWindow extends JFrame {
         });
     }
     
+    private void beginLiveResize() {
+        pendingWidth = getWidth();
+        pendingHeight = getHeight();
+        resizeSnapshot = captureContent();
+        
+        if (resizeTimer == null) {
+            resizeTimer = new Timer(getFrameIntervalMs(), e -> applyPendingSize());
+            resizeTimer.setCoalesce(true);
+        } else {
+            resizeTimer.setDelay(getFrameIntervalMs());
+        }
+        resizeTimer.start();
+    }
+    
+    private void endLiveResize() {
+        if (resizeTimer != null) {
+            resizeTimer.stop();
+        }
+        applyPendingSize();
+        resizeSnapshot = null;
+        contentPanel.repaint();
+    }
+    
+    private void applyPendingSize() {
+        if (pendingWidth != getWidth() || pendingHeight != getHeight()) {
+            setSize(pendingWidth, pendingHeight);
+        }
+    }
+    
+    private BufferedImage captureContent() {
+        int width = Math.max(1, contentPanel.getWidth());
+        int height = Math.max(1, contentPanel.getHeight());
+        BufferedImage snapshot = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = snapshot.createGraphics();
+        
+        // Only the children are captured; the background is repainted at the live size
+        for (Component child : contentPanel.getComponents()) {
+            Graphics childGraphics = g2d.create(child.getX(), child.getY(), child.getWidth(), child.getHeight());
+            child.paint(childGraphics);
+            childGraphics.dispose();
+        }
+        
+        g2d.dispose();
+        return snapshot;
+    }
+    
+    private int getFrameIntervalMs() {
+        int refreshRate = screenTopology.getRefreshRate(getGraphicsConfiguration());
+        if (refreshRate <= 0) {
+            refreshRate = Constants.DEFAULT_REFRESH_RATE;
+        }
+        return Math.max(1, 1000 / refreshRate);
+    }
+    
     private boolean loadPositionAndSize() {
         int x = 100;
         int y = 100;
@@ -476,6 +667,12 @@ public class FloatingOverlayWindow extends JFrame {
             int width = getWidth();
             int height = getHeight();
             
+            // Geometry belongs to the logged in character once a profile is active
+            if (activeProfile != null) {
+                activeProfile = profileStore.update(configManager, activeProfile, p -> p.withGeometry(x, y, width, height));
+                return;
+            }
+            
             configManager.setConfiguration("afkoverlay", "windowX", String.valueOf(x));
             configManager.setConfiguration("afkoverlay", "windowY", String.valueOf(y));
             configManager.setConfiguration("afkoverlay", "windowWidth", String.valueOf(width));
@@ -483,26 +680,95 @@ public class FloatingOverlayWindow extends JFrame {
         }
     }
     
-    private void validatePosition() {
-        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        GraphicsDevice[] devices = ge.getScreenDevices();
+    /**
+     * Applies a character's profile in a single pass, so logging in does not
+     * show the previous character's layout first.
+     */
+    public void applyProfile(OverlayProfile appliedProfile) {
+        // The window may have saved newer geometry since the profile was handed out
+        OverlayProfile profile = profileStore.latest(appliedProfile);
+        int previousRowMask = getRowMask();
+        activeProfile = profile;
         
-        // Find the screen that contains the window
-        Rectangle windowBounds = getBounds();
-        Rectangle screenBounds = null;
+        if (profile.hasGeometry()) {
+            setBounds(profile.getX(), profile.getY(), profile.getWidth(), profile.getHeight());
+            validatePosition();
+        } else {
+            // First login on this character: start from the current window
+            savePositionAndSize();
+        }
         
-        for (GraphicsDevice device : devices) {
-            Rectangle deviceBounds = device.getDefaultConfiguration().getBounds();
-            if (deviceBounds.intersects(windowBounds)) {
-                screenBounds = deviceBounds;
+        if (profile.getRowMask() != previousRowMask) {
+            rebuildInfoPanel();
+            layout.rebuild(countVisibleRows(), this);
+        }
+        updateComponentSizes();
+        updateDisplay();
+    }
+    
+    /**
+     * Pulses the border in the alert's color for a moment.
+     */
+    public void pulseBorder(AlertType type) {
+        switch (type) {
+            case HP:
+            case LOGOUT:
+                pulseColor = Constants.DANGER_COLOR;
+                break;
+            case PRAYER:
+                pulseColor = Constants.PRAYER_COLOR;
+                break;
+            default:
+                pulseColor = Constants.WARNING_COLOR;
                 break;
-            }
         }
+        pulseEndMs = System.currentTimeMillis() + Constants.PULSE_DURATION_MS;
         
-        // If no screen contains the window, use the primary screen
-        if (screenBounds == null) {
-            screenBounds = ge.getDefaultScreenDevice().getDefaultConfiguration().getBounds();
+        if (pulseTimer == null) {
+            pulseTimer = new Timer(Constants.PULSE_FRAME_MS, e -> {
+                if (System.currentTimeMillis() >= pulseEndMs) {
+                    pulseColor = null;
+                    pulseTimer.stop();
+                }
+                contentPanel.repaint();
+            });
+        }
+        pulseTimer.start();
+    }
+    
+    /**
+     * Asks the desktop to flash the window's taskbar entry, or brings the window to the front.
+     */
+    public void requestAttention() {
+        if (Taskbar.isTaskbarSupported() && Taskbar.getTaskbar().isSupported(Taskbar.Feature.USER_ATTENTION_WINDOW)) {
+            Taskbar.getTaskbar().requestWindowUserAttention(this);
+        } else {
+            toFront();
+        }
+    }
+    
+    @Override
+    public void dispose() {
+        if (pulseTimer != null) {
+            pulseTimer.stop();
         }
+        super.dispose();
+    }
+    
+    public void setThresholds(AlertThresholds thresholds) {
+        this.thresholds = thresholds;
+        contentPanel.repaint();
+    }
+    
+    private void refreshScreens() {
+        screenTopology.refresh();
+        iconCache.setScales(screenTopology.getScales());
+    }
+    
+    private void validatePosition() {
+        // Find the screen that contains the window, or the primary screen, from the cached screens
+        Rectangle windowBounds = getBounds();
+        Rectangle screenBounds = screenTopology.getContainingScreen(windowBounds);
         
         // Ensure window is within screen bounds
         int x = windowBounds.x;
@@ -538,6 +804,11 @@ public class FloatingOverlayWindow extends JFrame {
     }
     
     public void updateConfig() {
+        // Row toggles are applied to the stored profile by the plugin
+        if (activeProfile != null) {
+            activeProfile = profileStore.latest(activeProfile);
+        }
+        updateBadge();
         if (config.resetPosition()) {
             resetPosition();
             if (configManager != null) {
@@ -551,14 +822,22 @@ public class FloatingOverlayWindow extends JFrame {
         contentPanel.add(titleBar, BorderLayout.NORTH);
         
         // Update component visibility
-        hpLabel.setVisible(config.showHp());
-        prayerLabel.setVisible(config.showPrayer());
-        statusLabel.setVisible(config.showStatus());
-        inventoryLabel.setVisible(config.showInventory());
-        specialAttackLabel.setVisible(config.showSpecialAttack());
+        hpLabel.setVisible(isRowVisible(OverlayProfile.ROW_HP));
+        damageLabel.setVisible(isRowVisible(OverlayProfile.ROW_DAMAGE));
+        prayerLabel.setVisible(isRowVisible(OverlayProfile.ROW_PRAYER));
+        statusLabel.setVisible(isRowVisible(OverlayProfile.ROW_STATUS));
+        inventoryLabel.setVisible(isRowVisible(OverlayProfile.ROW_INVENTORY));
+        specialAttackLabel.setVisible(isRowVisible(OverlayProfile.ROW_SPECIAL_ATTACK));
+        targetLabel.setVisible(isRowVisible(OverlayProfile.ROW_TARGET));
+        watchedItemLabel.setVisible(isRowVisible(OverlayProfile.ROW_WATCHED_ITEM));
+        xpRateLabel.setVisible(isRowVisible(OverlayProfile.ROW_XP_RATE));
+        boostLabel.setVisible(isRowVisible(OverlayProfile.ROW_BOOST));
+        historyLabel.setVisible(isRowVisible(OverlayProfile.ROW_HISTORY));
+        updateSkillMask();
         
         // Rebuild info panel
         rebuildInfoPanel();
+        layout.rebuild(countVisibleRows(), this);
         
         // Update colors
         updateLabelColors();
@@ -575,21 +854,39 @@ public class FloatingOverlayWindow extends JFrame {
         infoPanel.removeAll();
         
         // Re-add components conditionally
-        addComponentIfVisible(config.showHp(), hpLabel);
-        addComponentIfVisible(config.showPrayer(), prayerLabel);
-        addComponentIfVisible(config.showInventory(), inventoryLabel);
-        addComponentIfVisible(config.showSpecialAttack(), specialAttackLabel);
-        addComponentIfVisible(config.showStatus(), statusLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_HP), hpLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_DAMAGE), damageLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_PRAYER), prayerLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_INVENTORY), inventoryLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_SPECIAL_ATTACK), specialAttackLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_TARGET), targetLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_WATCHED_ITEM), watchedItemLabel);
+        addSkillRows();
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_XP_RATE), xpRateLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_BOOST), boostLabel);
+        addComponentIfVisible(isRowVisible(OverlayProfile.ROW_STATUS), statusLabel);
+        addHistoryRows();
         
         contentPanel.add(infoPanel, BorderLayout.CENTER);
     }
     
     private void updateLabelColors() {
         hpLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        damageLabel.setForeground(Constants.DARK_TEXT_COLOR);
         prayerLabel.setForeground(Constants.DARK_TEXT_COLOR);
         statusLabel.setForeground(Constants.DARK_TEXT_COLOR);
         inventoryLabel.setForeground(Constants.DARK_TEXT_COLOR);
         specialAttackLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        targetLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        watchedItemLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        xpRateLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        boostLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        historyLabel.setForeground(Constants.DARK_TEXT_COLOR);
+        for (JLabel skillLabel : skillLabels) {
+            if (skillLabel != null) {
+                skillLabel.setForeground(Constants.DARK_TEXT_COLOR);
+            }
+        }
         characterNameLabel.setForeground(Constants.DARK_TEXT_COLOR);
     }
     
@@ -627,15 +924,15 @@ private void loadIcons() {
         protectRangedIcon = loadIcon("/com/icons/prayers/Protect_from_Missiles.png", new Color(100, 255, 100));
     }
     
-    private BufferedImage loadIcon(String path, Color fallbackColor) {
+    static BufferedImage loadIcon(String path, Color fallbackColor) {
         try {
-            return ImageUtil.loadImageResource(getClass(), path);
+            return ImageUtil.loadImageResource(FloatingOverlayWindow.class, path);
         } catch (IllegalArgumentException e) {
             return createPlaceholderIcon(16, 16, fallbackColor);
         }
     }
     
-    private BufferedImage createPlaceholderIcon(int width, int height, Color color) {
+    private static BufferedImage createPlaceholderIcon(int width, int height, Color color) {
         BufferedImage icon = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2d = icon.createGraphics();
         g2d.setColor(color);
@@ -644,92 +941,175 @@ private void loadIcons() {
         return icon;
     }
     
-    public void updateDisplay() {
+    /**
+     * Shows a snapshot of the player's state. The snapshot must not be modified afterwards.
+     */
+    public void updateDisplay(PlayerInfo snapshot) {
         SwingUtilities.invokeLater(() -> {
-            updateHpDisplay();
-    updatePrayerDisplay();
-    updateStatusDisplay();
-    updateInventoryDisplay();
-    updateSpecialAttackDisplay();
-    contentPanel.repaint();
+            displayInfo = snapshot;
+            refreshDisplay();
         });
     }
     
+    private void updateDisplay() {
+        SwingUtilities.invokeLater(this::refreshDisplay);
+    }
+    
+    private void refreshDisplay() {
+        updateHpDisplay();
+        updateDamageDisplay();
+        updatePrayerDisplay();
+        updateStatusDisplay();
+        updateInventoryDisplay();
+        updateSpecialAttackDisplay();
+        updateTargetDisplay();
+        updateWatchedItemDisplay();
+        updateSkillDisplay();
+        updateXpRateDisplay();
+        updateBoostDisplay();
+        updateHistoryDisplay();
+        updateBadge();
+        contentPanel.repaint();
+    }
+    
     private void updateHpDisplay() {
-        if (config.showHp()) {
-            hpLabel.setText(playerInfo.getHpText());
-            int hpPercent = playerInfo.getHpPercentage();
-            hpLabel.setForeground(getColorForPercentage(hpPercent, Constants.DARK_TEXT_COLOR));
+        if (isRowVisible(OverlayProfile.ROW_HP)) {
+            hpLabel.setText(displayInfo.getHpText());
+            int hpPercent = displayInfo.getHpPercentage();
+            hpLabel.setForeground(OverlayHighlight.getColorForPercentage(hpPercent, Constants.DARK_TEXT_COLOR));
+        }
+    }
+    
+    private void updateDamageDisplay() {
+        if (isRowVisible(OverlayProfile.ROW_DAMAGE)) {
+            damageLabel.setText(displayInfo.getDamageText());
+            damageLabel.setForeground(OverlayHighlight.getDamageColor(displayInfo));
         }
     }
     
     private void updatePrayerDisplay() {
-        if (config.showPrayer()) {
-            prayerLabel.setText(playerInfo.getPrayerText());
-            
-            // Check if protection prayer is active
-            String activePrayer = playerInfo.getActiveProtectionPrayer();
-            boolean hasProtectionPrayer = !activePrayer.isEmpty();
-            
-            int prayerPercent = playerInfo.getPrayerPercentage();
-            if (prayerPercent <= 10) {
-                prayerLabel.setForeground(Constants.DANGER_COLOR);
-            } else if (prayerPercent <= 50) {
-                prayerLabel.setForeground(Constants.WARNING_COLOR);
-            } else {
-                // Normal prayer level - check if protection prayer is active
-                prayerLabel.setForeground(hasProtectionPrayer ? Constants.PRAYER_COLOR : Constants.WHITE);
-            }
+        if (isRowVisible(OverlayProfile.ROW_PRAYER)) {
+            prayerLabel.setText(displayInfo.getPrayerText());
+            prayerLabel.setToolTipText(displayInfo.getPrayerDrainText());
+            prayerLabel.setForeground(OverlayHighlight.getPrayerColor(displayInfo));
             
             updatePrayerIcon();
         }
     }
     
     private void updateStatusDisplay() {
-        if (config.showStatus()) {
-            statusLabel.setText("Status: " + playerInfo.getStatusText());
-            statusLabel.setForeground(playerInfo.isIdle() ? Constants.IDLE_COLOR : Constants.ACTIVE_COLOR);
+        if (isRowVisible(OverlayProfile.ROW_STATUS)) {
+            statusLabel.setText("Status: " + displayInfo.getStatusText());
+            statusLabel.setForeground(OverlayHighlight.getStatusColor(displayInfo));
         }
     }
     
     private void updateInventoryDisplay() {
-        if (config.showInventory()) {
-            inventoryLabel.setText(playerInfo.getInventoryText());
-            int invPercent = (playerInfo.getInventoryUsedSlots() * 100) / 28;
-            inventoryLabel.setForeground(getColorForPercentage(invPercent, Constants.DARK_TEXT_COLOR));
+        if (isRowVisible(OverlayProfile.ROW_INVENTORY)) {
+            inventoryLabel.setText(displayInfo.getInventoryText());
+            inventoryLabel.setForeground(OverlayHighlight.getInventoryColor(displayInfo));
         }
     }
 
     private void updateSpecialAttackDisplay() {
-        if (config.showSpecialAttack()) {
-            specialAttackLabel.setText(playerInfo.getSpecialAttackText());
-            int specPercent = playerInfo.getSpecialAttackEnergyPercentage();
-            specialAttackLabel.setForeground(getColorForPercentage(specPercent, Constants.DARK_TEXT_COLOR));
+        if (isRowVisible(OverlayProfile.ROW_SPECIAL_ATTACK)) {
+            specialAttackLabel.setText(displayInfo.getSpecialAttackText());
+            int specPercent = displayInfo.getSpecialAttackEnergyPercentage();
+            specialAttackLabel.setForeground(OverlayHighlight.getColorForPercentage(specPercent, Constants.DARK_TEXT_COLOR));
         }
     }
     
-    private Color getColorForPercentage(int percentage, Color defaultColor) {
-        if (percentage <= 10) {
-            return Constants.DANGER_COLOR;
-        } else if (percentage <= 50) {
-            return Constants.WARNING_COLOR;
-        } else {
-            return defaultColor;
+    private void updateTargetDisplay() {
+        if (isRowVisible(OverlayProfile.ROW_TARGET)) {
+            targetLabel.setText(displayInfo.getTargetText());
+            targetLabel.setForeground(OverlayHighlight.getTargetColor(displayInfo));
+        }
+    }
+    
+    private void updateWatchedItemDisplay() {
+        if (isRowVisible(OverlayProfile.ROW_WATCHED_ITEM)) {
+            watchedItemLabel.setText(displayInfo.getWatchedItemText());
+            watchedItemLabel.setForeground(OverlayHighlight.getWatchedItemColor(displayInfo, config.watchedItemThreshold()));
+        }
+    }
+    
+    private void updateSkillDisplay() {
+        // The snapshot's own arrays; the live ones are written by the worker
+        int[] boosted = displayInfo.getSkillBoosted();
+        int[] real = displayInfo.getSkillReal();
+        
+        // Only touch labels whose levels changed since they were last drawn
+        for (long remaining = skillMask; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            if (boosted[index] == shownSkillBoosted[index] && real[index] == shownSkillReal[index]) {
+                continue;
+            }
+            shownSkillBoosted[index] = boosted[index];
+            shownSkillReal[index] = real[index];
+            
+            JLabel label = skillLabels[index];
+            label.setText(displayInfo.getSkillText(SkillLevels.SKILLS[index]));
+            label.setForeground(OverlayHighlight.getSkillColor(boosted[index], real[index]));
+        }
+    }
+    
+    private void updateXpRateDisplay() {
+        if (isRowVisible(OverlayProfile.ROW_XP_RATE)) {
+            xpRateLabel.setText(displayInfo.getXpRateText());
+        }
+    }
+    
+    private void updateBoostDisplay() {
+        if (isRowVisible(OverlayProfile.ROW_BOOST)) {
+            boostLabel.setText(displayInfo.getBoostText());
+            boostLabel.setForeground(OverlayHighlight.getBoostColor(displayInfo, config.boostMargin()));
+        }
+    }
+    
+    /**
+     * Sets the icon shown while the status badge is off.
+     */
+    public void setDefaultIcon(Image icon) {
+        defaultIcons = icon != null ? Collections.singletonList(icon) : Collections.emptyList();
+        shownBadgeKey = Integer.MIN_VALUE;
+        updateBadge();
+    }
+    
+    private void updateBadge() {
+        int key = config.showStatusBadge() ? StatusBadge.key(displayInfo) : StatusBadge.NO_BADGE;
+        if (key == shownBadgeKey) {
+            return;
+        }
+        shownBadgeKey = key;
+        
+        if (key != StatusBadge.NO_BADGE) {
+            setIconImages(statusBadge.get(key));
+        } else if (!defaultIcons.isEmpty()) {
+            setIconImages(defaultIcons);
+        }
+    }
+    
+    private void updateHistoryDisplay() {
+        if (isRowVisible(OverlayProfile.ROW_HISTORY)) {
+            historyLabel.setText(String.format("History (%d) %s", alertHistory.size(), historyExpanded ? "▾" : "▸"));
+            if (historyExpanded) {
+                historyPanel.repaint();
+            }
         }
     }
     
     private void updatePrayerIcon() {
-        String activePrayer = playerInfo.getActiveProtectionPrayer();
+        String activePrayer = displayInfo.getActiveProtectionPrayer();
         BufferedImage originalIcon = prayerIcon; // Default prayer icon
         
         switch (activePrayer) {
-            case "melee":
+            case PrayerTracker.PROTECT_MELEE:
                 originalIcon = protectMeleeIcon;
                 break;
-            case "magic":
+            case PrayerTracker.PROTECT_MAGIC:
                 originalIcon = protectMagicIcon;
                 break;
-            case "ranged":
+            case PrayerTracker.PROTECT_RANGED:
                 originalIcon = protectRangedIcon;
                 break;
             default:
@@ -738,106 +1118,93 @@ private void loadIcons() {
         }
         
         // Resize the icon to the current icon size
-        int iconSize = getScaledIconSize();
-        prayerLabel.setIcon(resizeIcon(originalIcon, iconSize, iconSize));
-    }
-    
-    private ImageIcon resizeIcon(BufferedImage originalIcon, int width, int height) {
-        if (originalIcon == null) {
-            return null;
-        }
-        Image scaledImage = originalIcon.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaledImage);
+        int iconSize = layout.getIconSize(getHeight());
+        prayerLabel.setIcon(iconCache.get(originalIcon, iconSize));
     }
     
     private void updateComponentSizes() {
         int currentHeight = getHeight();
-        int minRequiredHeight = calculateMinimumRequiredHeight();
         
-        // Calculate scaling factor
-        double scalingFactor = 1.0; // Default to no scaling
-        if (currentHeight > minRequiredHeight + Constants.SCALING_BUFFER) {
-            double extraHeight = currentHeight - minRequiredHeight;
-            scalingFactor = 1.0 + (extraHeight / 100.0) * Constants.SCALING_FACTOR;
-            scalingFactor = Math.min(Constants.MAX_SCALING, scalingFactor);
-        }
-        
-        // Calculate new sizes
-        int iconSize = getScaledIconSize(scalingFactor);
-        int fontSize = getScaledFontSize(scalingFactor);
-        Font newFont = new Font("Arial", Font.BOLD, fontSize);
+        // Look up sizes for the current height
+        int iconSize = layout.getIconSize(currentHeight);
+        Font newFont = layout.getFont(currentHeight);
         
         // Update each label's font and icon (if visible)
-        updateLabelSize(config.showHp(), hpLabel, newFont, hpIcon, iconSize);
-        updateLabelSize(config.showPrayer(), prayerLabel, newFont, null, iconSize); // Icon updated separately
-        updateLabelSize(config.showStatus(), statusLabel, newFont, null, iconSize);
-        updateLabelSize(config.showInventory(), inventoryLabel, newFont, inventoryIcon, iconSize);
-        updateLabelSize(config.showSpecialAttack(), specialAttackLabel, newFont, specialAttackIcon, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_HP), hpLabel, newFont, hpIcon, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_DAMAGE), damageLabel, newFont, null, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_PRAYER), prayerLabel, newFont, null, iconSize); // Icon updated separately
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_STATUS), statusLabel, newFont, null, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_INVENTORY), inventoryLabel, newFont, inventoryIcon, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_SPECIAL_ATTACK), specialAttackLabel, newFont, specialAttackIcon, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_TARGET), targetLabel, newFont, null, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_WATCHED_ITEM), watchedItemLabel, newFont, null, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_XP_RATE), xpRateLabel, newFont, null, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_BOOST), boostLabel, newFont, null, iconSize);
+        updateLabelSize(isRowVisible(OverlayProfile.ROW_HISTORY), historyLabel, newFont, null, iconSize);
+        historyPanel.setFont(layout.getFontForSize(Constants.MIN_FONT_SIZE));
+        for (long remaining = skillMask; remaining != 0; remaining &= remaining - 1) {
+            updateLabelSize(true, skillLabels[Long.numberOfTrailingZeros(remaining)], newFont, null, iconSize);
+        }
         
         // Update character name label
-        characterNameLabel.setFont(new Font("Arial", Font.BOLD, fontSize));
+        characterNameLabel.setFont(newFont);
         
         // Update the layout
         infoPanel.revalidate();
     }
     
-    private int getScaledIconSize() {
-        int currentHeight = getHeight();
-        int minRequiredHeight = calculateMinimumRequiredHeight();
-        
-        double scalingFactor = 1.0; // Default to no scaling
-        if (currentHeight > minRequiredHeight + Constants.SCALING_BUFFER) {
-            double extraHeight = currentHeight - minRequiredHeight;
-            scalingFactor = 1.0 + (extraHeight / 100.0) * Constants.SCALING_FACTOR;
-            scalingFactor = Math.min(Constants.MAX_SCALING, scalingFactor);
+    private void updateLabelSize(boolean isVisible, JLabel label, Font font, BufferedImage icon, int iconSize) {
+        if (isVisible) {
+            label.setFont(font);
+            if (icon != null) {
+                label.setIcon(iconCache.get(icon, iconSize));
+            }
         }
-        
-        int iconSize = (int) (Constants.MIN_ICON_SIZE * scalingFactor);
-        return Math.max(Constants.MIN_ICON_SIZE, Math.min(Constants.MAX_ICON_SIZE, iconSize));
     }
     
-    private int getScaledIconSize(double scalingFactor) {
-        int iconSize = (int) (Constants.MIN_ICON_SIZE * scalingFactor);
-        return Math.max(Constants.MIN_ICON_SIZE, Math.min(Constants.MAX_ICON_SIZE, iconSize));
+    private int getRowMask() {
+        OverlayProfile profile = activeProfile;
+        return profile != null ? profile.getRowMask() : OverlayProfile.rowMaskFromConfig(config);
     }
     
-    private int getScaledFontSize(double scalingFactor) {
-        int fontSize = (int) (Constants.MIN_FONT_SIZE * scalingFactor);
-        return Math.max(Constants.MIN_FONT_SIZE, Math.min(Constants.MAX_FONT_SIZE, fontSize));
+    private boolean isRowVisible(int row) {
+        return (getRowMask() & row) != 0;
     }
     
-    private void updateLabelSize(boolean isVisible, JLabel label, Font font, BufferedImage icon, int iconSize) {
-        if (isVisible) {
-            label.setFont(font);
-            if (icon != null) {
-                label.setIcon(resizeIcon(icon, iconSize, iconSize));
-            }
+    /**
+     * The label that shows a row, for tests.
+     */
+    JLabel getRowLabel(int row) {
+        switch (row) {
+            case OverlayProfile.ROW_HP:
+                return hpLabel;
+            case OverlayProfile.ROW_DAMAGE:
+                return damageLabel;
+            case OverlayProfile.ROW_PRAYER:
+                return prayerLabel;
+            case OverlayProfile.ROW_STATUS:
+                return statusLabel;
+            case OverlayProfile.ROW_INVENTORY:
+                return inventoryLabel;
+            case OverlayProfile.ROW_SPECIAL_ATTACK:
+                return specialAttackLabel;
+            case OverlayProfile.ROW_TARGET:
+                return targetLabel;
+            case OverlayProfile.ROW_WATCHED_ITEM:
+                return watchedItemLabel;
+            case OverlayProfile.ROW_XP_RATE:
+                return xpRateLabel;
+            case OverlayProfile.ROW_BOOST:
+                return boostLabel;
+            case OverlayProfile.ROW_HISTORY:
+                return historyLabel;
+            default:
+                return null;
         }
     }
     
-    private int calculateMinimumRequiredHeight() {
-        // Start with the title bar height
-        int minHeight = Constants.TITLE_BAR_HEIGHT;
-        
-        // Add the height of each visible component
-        int componentCount = 0;
-        if (config.showHp()) componentCount++;
-        if (config.showPrayer()) componentCount++;
-        if (config.showInventory()) componentCount++;
-        if (config.showSpecialAttack()) componentCount++;
-        if (config.showStatus()) componentCount++;
-        
-        // Each component needs space for itself plus spacing
-        Font minFont = new Font("Arial", Font.BOLD, Constants.MIN_FONT_SIZE);
-        FontMetrics fm = hpLabel.getFontMetrics(minFont);
-        int componentHeight = fm.getHeight();
-        
-        // Total height = (component height + spacing) for each component
-        minHeight += componentCount * (componentHeight + Constants.COMPONENT_SPACING);
-        
-        // Add padding
-        minHeight += Constants.PADDING * 2;
-        
-        return minHeight;
+    private int countVisibleRows() {
+        int historyRows = historyExpanded && isRowVisible(OverlayProfile.ROW_HISTORY) ? AlertHistoryPanel.VISIBLE_ROWS : 0;
+        return Integer.bitCount(getRowMask()) + Long.bitCount(skillMask) + historyRows;
     }
 }
@@ -0,0 +1,8 @@
+package com.afkoverlay;
+
+public enum IdleState {
+    ACTIVE,
+    IDLE,
+    LOGOUT_IMMINENT,
+    LOGGED_OUT
+}
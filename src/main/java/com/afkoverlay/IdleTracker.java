@@ -0,0 +1,75 @@
+package com.afkoverlay;
+
+/**
+ * Tick-driven idle state machine.
+ * Character idleness comes from the game tick counter; the AFK logout countdown comes
+ * from the client's mouse and keyboard idle ticks. Updating never allocates.
+ */
+public class IdleTracker {
+    // The game logs out after 5 minutes without input, counted in 20ms client ticks
+    static final int LOGOUT_CLIENT_TICKS = 5 * 60 * 50;
+    static final int CLIENT_TICKS_PER_GAME_TICK = 30;
+    static final int GAME_TICK_MS = 600;
+
+    private IdleState state = IdleState.LOGGED_OUT;
+    private int lastActiveTick = -1;
+    private boolean characterIdle = false;
+    private int logoutTicksRemaining = 0;
+    private int inputIdleTicks = 0;
+
+    /**
+     * Advances the state machine for a captured game tick.
+     *
+     * @param animating          whether the character is animating or moving
+     * @param idleThresholdMs    time without animation before the character counts as idle
+     * @param logoutWarningTicks game ticks before the AFK logout that count as imminent
+     */
+    public IdleState update(int tickCount, boolean animating, int mouseIdleClientTicks, int keyboardIdleClientTicks,
+                            int idleThresholdMs, int logoutWarningTicks) {
+        if (animating || lastActiveTick < 0 || tickCount < lastActiveTick) {
+            lastActiveTick = tickCount;
+        }
+
+        // Round the threshold up to whole game ticks
+        int idleThresholdTicks = (idleThresholdMs + GAME_TICK_MS - 1) / GAME_TICK_MS;
+        characterIdle = tickCount - lastActiveTick >= idleThresholdTicks;
+
+        // The logout timer only resets on input
+        int inputIdleClientTicks = Math.min(mouseIdleClientTicks, keyboardIdleClientTicks);
+        inputIdleTicks = inputIdleClientTicks / CLIENT_TICKS_PER_GAME_TICK;
+        logoutTicksRemaining = Math.max(0, LOGOUT_CLIENT_TICKS - inputIdleClientTicks) / CLIENT_TICKS_PER_GAME_TICK;
+
+        if (logoutTicksRemaining <= logoutWarningTicks) {
+            state = IdleState.LOGOUT_IMMINENT;
+        } else if (characterIdle) {
+            state = IdleState.IDLE;
+        } else {
+            state = IdleState.ACTIVE;
+        }
+        return state;
+    }
+
+    public void loggedOut() {
+        state = IdleState.LOGGED_OUT;
+        lastActiveTick = -1;
+        characterIdle = false;
+        logoutTicksRemaining = 0;
+        inputIdleTicks = 0;
+    }
+
+    public IdleState getState() {
+        return state;
+    }
+
+    public boolean isCharacterIdle() {
+        return characterIdle;
+    }
+
+    public int getLogoutTicksRemaining() {
+        return logoutTicksRemaining;
+    }
+
+    public int getInputIdleTicks() {
+        return inputIdleTicks;
+    }
+}
@@ -0,0 +1,117 @@
+package com.afkoverlay;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to int map with linear probing.
+ * Keys must not be negative; a missing key reads as 0. Never allocates unless it has to grow.
+ */
+public class IntIntMap {
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] values;
+    private int size = 0;
+
+    public IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public int get(int key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds delta to the value for the key, removing the key when it reaches 0.
+     */
+    public void add(int key, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                values[i] += delta;
+                if (values[i] == 0) {
+                    removeAt(i);
+                }
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = delta;
+        size++;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void removeAt(int slot) {
+        int mask = keys.length - 1;
+        keys[slot] = EMPTY;
+        size--;
+
+        // Shift following entries back so lookups never stop at the gap
+        int i = (slot + 1) & mask;
+        while (keys[i] != EMPTY) {
+            int key = keys[i];
+            int value = values[i];
+            keys[i] = EMPTY;
+            size--;
+            reinsert(key, value);
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void reinsert(int key, int value) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                reinsert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
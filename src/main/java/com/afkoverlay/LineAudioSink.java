@@ -0,0 +1,67 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Plays alert audio through the default output line. The line is opened by the first write
+ * and kept open until the player closes or releases it.
+ * Only used from the alert sound thread.
+ */
+@Slf4j
+public class LineAudioSink implements AudioSink {
+    private SourceDataLine line;
+
+    private LineAudioSink() {
+    }
+
+    /**
+     * Returns a sink for the default output line, or {@link AudioSink#NONE} if there is no usable sound device.
+     */
+    public static AudioSink open() {
+        try {
+            // Only checks that a line exists; it is opened when there is something to play
+            AudioSystem.getSourceDataLine(AlertSoundPlayer.FORMAT);
+            return new LineAudioSink();
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            log.warn("No sound device available, alert sounds are disabled", e);
+            return AudioSink.NONE;
+        }
+    }
+
+    @Override
+    public void write(byte[] data, int length) {
+        if (line == null) {
+            try {
+                SourceDataLine opened = AudioSystem.getSourceDataLine(AlertSoundPlayer.FORMAT);
+                opened.open(AlertSoundPlayer.FORMAT);
+                opened.start();
+                line = opened;
+            } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+                log.warn("Unable to open the sound device, alert sound skipped", e);
+                return;
+            }
+        }
+        line.write(data, 0, length);
+    }
+
+    @Override
+    public void release() {
+        if (line != null) {
+            line.drain();
+            close();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (line != null) {
+            line.stop();
+            line.close();
+            line = null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.afkoverlay;
+
+import java.awt.Color;
+
+/**
+ * Background and row colors shared by the floating window and the in-game overlay,
+ * so both highlight the same things in the same way.
+ */
+public final class OverlayHighlight {
+    private OverlayHighlight() {
+    }
+
+    /**
+     * Returns the highlight color for the most important threshold that is met, or the default color.
+     */
+    public static Color getBackgroundColor(PlayerInfo info, AlertThresholds thresholds, AFKOverlayConfig config, Color defaultColor) {
+        // Priority: HP > Prayer > Status > Inventory
+        int hpValue = info.getCurrentHp();
+        int prayerValue = info.getCurrentPrayer();
+        int invCount = info.getInventoryUsedSlots();
+
+        if (config.highlightHpBackground() && hpValue <= thresholds.getLowHp()) {
+            return config.lowHpOverlayColor();
+        } else if (config.highlightPrayerBackground() && prayerValue <= thresholds.getLowPrayer()) {
+            return config.lowPrayerOverlayColor();
+        } else if (config.highlightIdleBackground() && info.isIdle()) {
+            return config.idleOverlayColor();
+        } else if (config.highlightSpecialAttackBackground() && info.getSpecialAttackEnergyPercentage() >= thresholds.getHighSpecialAttack()) {
+            return config.highSpecialAttackOverlayColor();
+        } else if (config.highlightInvBackground()) {
+            boolean highlight = false;
+            switch (config.invHighlightMode()) {
+                case ABOVE:
+                    highlight = invCount > thresholds.getInventory();
+                    break;
+                case BELOW:
+                    highlight = invCount < thresholds.getInventory();
+                    break;
+                case EQUALS:
+                    highlight = invCount == thresholds.getInventory();
+            }
+            if (highlight) {
+                return config.invOverlayColor();
+            }
+        }
+
+        return defaultColor;
+    }
+
+    public static Color getColorForPercentage(int percentage, Color defaultColor) {
+        if (percentage <= 10) {
+            return FloatingOverlayWindow.Constants.DANGER_COLOR;
+        } else if (percentage <= 50) {
+            return FloatingOverlayWindow.Constants.WARNING_COLOR;
+        } else {
+            return defaultColor;
+        }
+    }
+
+    public static Color getPrayerColor(PlayerInfo info) {
+        // Normal prayer level shows whether a prayer is active
+        Color normal = info.getActivePrayerCount() > 0 ? FloatingOverlayWindow.Constants.PRAYER_COLOR : FloatingOverlayWindow.Constants.WHITE;
+        return getColorForPercentage(info.getPrayerPercentage(), normal);
+    }
+
+    public static Color getInventoryColor(PlayerInfo info) {
+        return getColorForPercentage(info.getInventoryUsedSlots() * 100 / 28, FloatingOverlayWindow.Constants.DARK_TEXT_COLOR);
+    }
+
+    public static Color getDamageColor(PlayerInfo info) {
+        return info.getDeathEtaSeconds() >= 0 ? FloatingOverlayWindow.Constants.WARNING_COLOR : FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+    }
+
+    public static Color getStatusColor(PlayerInfo info) {
+        switch (info.getIdleState()) {
+            case LOGOUT_IMMINENT:
+                return FloatingOverlayWindow.Constants.DANGER_COLOR;
+            case LOGGED_OUT:
+                return FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+            default:
+                return info.isIdle() ? FloatingOverlayWindow.Constants.IDLE_COLOR : FloatingOverlayWindow.Constants.ACTIVE_COLOR;
+        }
+    }
+
+    public static Color getTargetColor(PlayerInfo info) {
+        if (info.isTargetDead()) {
+            return FloatingOverlayWindow.Constants.ACTIVE_COLOR;
+        } else if (info.getTargetName().isEmpty()) {
+            return FloatingOverlayWindow.Constants.IDLE_COLOR;
+        } else {
+            return FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+        }
+    }
+
+    public static Color getWatchedItemColor(PlayerInfo info, int threshold) {
+        return info.getWatchedItemCount() < threshold ? FloatingOverlayWindow.Constants.DANGER_COLOR : FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+    }
+
+    public static Color getSkillColor(int boosted, int real) {
+        if (boosted > real) {
+            return FloatingOverlayWindow.Constants.ACTIVE_COLOR;
+        } else if (boosted < real) {
+            return FloatingOverlayWindow.Constants.WARNING_COLOR;
+        } else {
+            return FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+        }
+    }
+
+    public static Color getBoostColor(PlayerInfo info, int margin) {
+        boolean low = info.getBoostSkill() != null && info.getBoostLevels() < margin;
+        return low ? FloatingOverlayWindow.Constants.WARNING_COLOR : FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+    }
+}
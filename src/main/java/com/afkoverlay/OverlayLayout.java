@@ -0,0 +1,121 @@
+package com.afkoverlay;
+
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+
+/**
+ * Precomputed sizing table for the overlay rows.
+ * Every window height between MIN_HEIGHT and MAX_HEIGHT maps to a font, icon size and
+ * row height, so resizing the window is a lookup instead of a font metrics query.
+ */
+public class OverlayLayout {
+    private static final String FONT_NAME = "Arial";
+
+    private final int minHeight;
+    private final int maxHeight;
+
+    // Fonts are indexed by (fontSize - MIN_FONT_SIZE) and created once
+    private final Font[] fonts;
+    private final int[] fontLineHeights;
+
+    // Per height bucket, indexed by (height - minHeight)
+    private final int[] fontSizeByHeight;
+    private final int[] iconSizeByHeight;
+
+    private int rowCount = -1;
+    private int minRequiredHeight;
+
+    public OverlayLayout(int minHeight, int maxHeight) {
+        this.minHeight = minHeight;
+        this.maxHeight = maxHeight;
+
+        int fontCount = FloatingOverlayWindow.Constants.MAX_FONT_SIZE - FloatingOverlayWindow.Constants.MIN_FONT_SIZE + 1;
+        fonts = new Font[fontCount];
+        fontLineHeights = new int[fontCount];
+        for (int i = 0; i < fontCount; i++) {
+            fonts[i] = new Font(FONT_NAME, Font.BOLD, FloatingOverlayWindow.Constants.MIN_FONT_SIZE + i);
+        }
+
+        int buckets = maxHeight - minHeight + 1;
+        fontSizeByHeight = new int[buckets];
+        iconSizeByHeight = new int[buckets];
+    }
+
+    /**
+     * Recomputes the height table for the given number of visible rows.
+     * Does nothing if the row count has not changed since the last rebuild.
+     */
+    public void rebuild(int rowCount, Component metricsSource) {
+        if (rowCount == this.rowCount) {
+            return;
+        }
+
+        // Font metrics only depend on the font, so they are queried once
+        if (fontLineHeights[0] == 0) {
+            for (int i = 0; i < fonts.length; i++) {
+                FontMetrics fm = metricsSource.getFontMetrics(fonts[i]);
+                fontLineHeights[i] = fm.getHeight();
+            }
+        }
+
+        this.rowCount = rowCount;
+        minRequiredHeight = FloatingOverlayWindow.Constants.TITLE_BAR_HEIGHT
+            + rowCount * (fontLineHeights[0] + FloatingOverlayWindow.Constants.COMPONENT_SPACING)
+            + FloatingOverlayWindow.Constants.PADDING * 2;
+
+        for (int height = minHeight; height <= maxHeight; height++) {
+            double scalingFactor = 1.0; // Default to no scaling
+            if (height > minRequiredHeight + FloatingOverlayWindow.Constants.SCALING_BUFFER) {
+                double extraHeight = height - minRequiredHeight;
+                scalingFactor = 1.0 + (extraHeight / 100.0) * FloatingOverlayWindow.Constants.SCALING_FACTOR;
+                scalingFactor = Math.min(FloatingOverlayWindow.Constants.MAX_SCALING, scalingFactor);
+            }
+
+            int fontSize = (int) (FloatingOverlayWindow.Constants.MIN_FONT_SIZE * scalingFactor);
+            int iconSize = (int) (FloatingOverlayWindow.Constants.MIN_ICON_SIZE * scalingFactor);
+            fontSizeByHeight[height - minHeight] = clamp(fontSize,
+                FloatingOverlayWindow.Constants.MIN_FONT_SIZE, FloatingOverlayWindow.Constants.MAX_FONT_SIZE);
+            iconSizeByHeight[height - minHeight] = clamp(iconSize,
+                FloatingOverlayWindow.Constants.MIN_ICON_SIZE, FloatingOverlayWindow.Constants.MAX_ICON_SIZE);
+        }
+    }
+
+    public Font getFont(int height) {
+        return getFontForSize(getFontSize(height));
+    }
+
+    public Font getFontForSize(int fontSize) {
+        return fonts[clamp(fontSize, FloatingOverlayWindow.Constants.MIN_FONT_SIZE,
+            FloatingOverlayWindow.Constants.MAX_FONT_SIZE) - FloatingOverlayWindow.Constants.MIN_FONT_SIZE];
+    }
+
+    public int getFontSize(int height) {
+        return fontSizeByHeight[bucket(height)];
+    }
+
+    public int getIconSize(int height) {
+        return iconSizeByHeight[bucket(height)];
+    }
+
+    public int getRowHeight(int height) {
+        int lineHeight = fontLineHeights[getFontSize(height) - FloatingOverlayWindow.Constants.MIN_FONT_SIZE];
+        return Math.max(lineHeight, getIconSize(height));
+    }
+
+    public int getMinimumRequiredHeight() {
+        return minRequiredHeight;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private int bucket(int height) {
+        return clamp(height, minHeight, maxHeight) - minHeight;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
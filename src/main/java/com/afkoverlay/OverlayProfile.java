@@ -0,0 +1,140 @@
+package com.afkoverlay;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Per-character window geometry, visible rows and thresholds.
+ * Instances are immutable; changes return a new profile, so the client thread, the EDT
+ * and the worker can share one without locking.
+ */
+@Value
+@With
+public class OverlayProfile {
+    // Visible row bits
+    public static final int ROW_HP = 1;
+    public static final int ROW_PRAYER = 1 << 1;
+    public static final int ROW_INVENTORY = 1 << 2;
+    public static final int ROW_SPECIAL_ATTACK = 1 << 3;
+    public static final int ROW_STATUS = 1 << 4;
+    public static final int ROW_WATCHED_ITEM = 1 << 5;
+    public static final int ROW_XP_RATE = 1 << 6;
+    public static final int ROW_DAMAGE = 1 << 7;
+    public static final int ROW_TARGET = 1 << 8;
+    public static final int ROW_BOOST = 1 << 9;
+    public static final int ROW_HISTORY = 1 << 10;
+
+    private final String key;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final int rowMask;
+    private final AlertThresholds thresholds;
+
+    public boolean hasGeometry() {
+        return width > 0 && height > 0;
+    }
+
+    /**
+     * Returns the profile with the given geometry, or this profile if it is unchanged.
+     */
+    public OverlayProfile withGeometry(int x, int y, int width, int height) {
+        if (this.x == x && this.y == y && this.width == width && this.height == height) {
+            return this;
+        }
+        return new OverlayProfile(key, x, y, width, height, rowMask, thresholds);
+    }
+
+    /**
+     * Returns the profile with a single changed config value copied in, or this profile
+     * if the key doesn't belong to profiles or the value is unchanged.
+     */
+    public OverlayProfile applyConfigChange(String configKey, AFKOverlayConfig config) {
+        switch (configKey) {
+            case "showHp":
+                return withRow(ROW_HP, config.showHp());
+            case "showPrayer":
+                return withRow(ROW_PRAYER, config.showPrayer());
+            case "showInventory":
+                return withRow(ROW_INVENTORY, config.showInventory());
+            case "showSpecialAttack":
+                return withRow(ROW_SPECIAL_ATTACK, config.showSpecialAttack());
+            case "showStatus":
+                return withRow(ROW_STATUS, config.showStatus());
+            case "showWatchedItem":
+                return withRow(ROW_WATCHED_ITEM, config.showWatchedItem());
+            case "showXpRate":
+                return withRow(ROW_XP_RATE, config.showXpRate());
+            case "showDamageRate":
+                return withRow(ROW_DAMAGE, config.showDamageRate());
+            case "showTarget":
+                return withRow(ROW_TARGET, config.showTarget());
+            case "showBoosts":
+                return withRow(ROW_BOOST, config.showBoosts());
+            case "showAlertHistory":
+                return withRow(ROW_HISTORY, config.showAlertHistory());
+            case "lowHpThresholdValue":
+                return withThresholds(thresholds.withLowHp(config.lowHpThresholdValue()));
+            case "lowPrayerThresholdValue":
+                return withThresholds(thresholds.withLowPrayer(config.lowPrayerThresholdValue()));
+            case "highSpecialAttackThresholdValue":
+                return withThresholds(thresholds.withHighSpecialAttack(config.highSpecialAttackThresholdValue()));
+            case "invThresholdValue":
+                return withThresholds(thresholds.withInventory(config.invThresholdValue()));
+            case "idleThresholdMs":
+                return withThresholds(thresholds.withIdleMs(config.idleThresholdMs()));
+            default:
+                return this;
+        }
+    }
+
+    private OverlayProfile withRow(int row, boolean visible) {
+        return withRowMask(visible ? (rowMask | row) : (rowMask & ~row));
+    }
+
+    public static int rowMaskFromConfig(AFKOverlayConfig config) {
+        int mask = 0;
+        if (config.showHp()) mask |= ROW_HP;
+        if (config.showPrayer()) mask |= ROW_PRAYER;
+        if (config.showInventory()) mask |= ROW_INVENTORY;
+        if (config.showSpecialAttack()) mask |= ROW_SPECIAL_ATTACK;
+        if (config.showStatus()) mask |= ROW_STATUS;
+        if (config.showWatchedItem()) mask |= ROW_WATCHED_ITEM;
+        if (config.showXpRate()) mask |= ROW_XP_RATE;
+        if (config.showDamageRate()) mask |= ROW_DAMAGE;
+        if (config.showTarget()) mask |= ROW_TARGET;
+        if (config.showBoosts()) mask |= ROW_BOOST;
+        if (config.showAlertHistory()) mask |= ROW_HISTORY;
+        return mask;
+    }
+
+    public String serialize() {
+        return x + "," + y + "," + width + "," + height + "," + rowMask + ","
+            + thresholds.getLowHp() + "," + thresholds.getLowPrayer() + ","
+            + thresholds.getHighSpecialAttack() + "," + thresholds.getInventory() + ","
+            + thresholds.getIdleMs();
+    }
+
+    /**
+     * Parses a serialized profile, or returns null if the value is malformed.
+     */
+    public static OverlayProfile parse(String key, String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 10) {
+            return null;
+        }
+
+        try {
+            int[] values = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                values[i] = Integer.parseInt(parts[i].trim());
+            }
+
+            return new OverlayProfile(key, values[0], values[1], values[2], values[3], values[4],
+                new AlertThresholds(values[5], values[6], values[7], values[8], values[9]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.afkoverlay;
 
 import lombok.Data;
+import net.runelite.api.Skill;
 
 @Data
 public class PlayerInfo {
@@ -13,10 +14,35 @@ public class PlayerInfo {
         this.currentPrayer = other.currentPrayer;
         this.maxPrayer = other.maxPrayer;
         this.idle = other.idle;
+        this.idleState = other.idleState;
+        this.logoutSecondsRemaining = other.logoutSecondsRemaining;
         this.inventoryUsedSlots = other.inventoryUsedSlots;
         this.specialAttackEnergy = other.specialAttackEnergy;
+        this.watchedItemName = other.watchedItemName;
+        this.watchedItemCount = other.watchedItemCount;
         this.characterName = other.characterName;
         this.activeProtectionPrayer = other.activeProtectionPrayer;
+        this.activePrayerCount = other.activePrayerCount;
+        this.prayerEmptySeconds = other.prayerEmptySeconds;
+        this.hpEtaSeconds = other.hpEtaSeconds;
+        this.prayerEtaSeconds = other.prayerEtaSeconds;
+        this.inventoryEtaSeconds = other.inventoryEtaSeconds;
+        this.skillBoosted = other.skillBoosted.clone();
+        this.skillReal = other.skillReal.clone();
+        this.xpSkill = other.xpSkill;
+        this.xpPerHour = other.xpPerHour;
+        this.actionsPerHour = other.actionsPerHour;
+        this.levelEtaSeconds = other.levelEtaSeconds;
+        this.damagePerMinute = other.damagePerMinute;
+        this.healingPerMinute = other.healingPerMinute;
+        this.deathEtaSeconds = other.deathEtaSeconds;
+        this.targetName = other.targetName;
+        this.targetHealthPercent = other.targetHealthPercent;
+        this.targetDead = other.targetDead;
+        this.noTargetSeconds = other.noTargetSeconds;
+        this.boostSkill = other.boostSkill;
+        this.boostLevels = other.boostLevels;
+        this.boostExpirySeconds = other.boostExpirySeconds;
     }
 
     private int currentHp = 0;
@@ -24,10 +50,41 @@ public class PlayerInfo {
     private int currentPrayer = 0;
     private int maxPrayer = 0;
     private boolean idle = false;
+    private IdleState idleState = IdleState.LOGGED_OUT;
+    private int logoutSecondsRemaining = -1; // -1 when the countdown is hidden
     private int inventoryUsedSlots = 0;
     private int specialAttackEnergy = 0;
+    private String watchedItemName = "";
+    private int watchedItemCount = 0;
     private String characterName = "";
     private String activeProtectionPrayer = ""; // "melee", "magic", "ranged", or empty string
+    private int activePrayerCount = 0;
+    private int prayerEmptySeconds = -1; // -1 when no prayer is draining
+    // Predicted seconds until each row reaches its threshold, -1 when unknown or hidden
+    private int hpEtaSeconds = -1;
+    private int prayerEtaSeconds = -1;
+    private int inventoryEtaSeconds = -1;
+    // Boosted and real level of every skill, indexed by skill ordinal
+    private int[] skillBoosted = new int[SkillLevels.SKILLS.length];
+    private int[] skillReal = new int[SkillLevels.SKILLS.length];
+    // Rates for the skill being trained, null when no XP was gained recently
+    private Skill xpSkill = null;
+    private int xpPerHour = 0;
+    private int actionsPerHour = 0;
+    private int levelEtaSeconds = -1;
+    // Incoming damage over the last minute
+    private int damagePerMinute = 0;
+    private int healingPerMinute = 0;
+    private int deathEtaSeconds = -1; // -1 when healing keeps up
+    // Combat target, empty name when there is none
+    private String targetName = "";
+    private int targetHealthPercent = -1; // -1 when the health bar isn't shown
+    private boolean targetDead = false;
+    private int noTargetSeconds = 0;
+    // The boost that runs out first, null when nothing is boosted
+    private Skill boostSkill = null;
+    private int boostLevels = 0;
+    private int boostExpirySeconds = -1;
 
     public int getHpPercentage() {
         if (maxHp == 0) return 0;
@@ -40,21 +97,91 @@ public class PlayerInfo {
     }
 
     public String getStatusText() {
-        return idle ? "IDLE" : "ACTIVE";
+        String status;
+        switch (idleState) {
+            case LOGOUT_IMMINENT:
+                status = "LOGOUT";
+                break;
+            case LOGGED_OUT:
+                status = "LOGGED OUT";
+                break;
+            default:
+                status = idle ? "IDLE" : "ACTIVE";
+                break;
+        }
+        
+        if (logoutSecondsRemaining >= 0) {
+            return String.format("%s (%d:%02d)", status, logoutSecondsRemaining / 60, logoutSecondsRemaining % 60);
+        }
+        return status;
     }
 
     public String getHpText() {
-        return String.format("%d/%d (%d%%)", currentHp, maxHp, getHpPercentage());
+        return String.format("%d/%d (%d%%)", currentHp, maxHp, getHpPercentage()) + getEtaText(hpEtaSeconds);
     }
 
     public String getPrayerText() {
-        return String.format("%d/%d (%d%%)", currentPrayer, maxPrayer, getPrayerPercentage());
+        return String.format("%d/%d (%d%%)", currentPrayer, maxPrayer, getPrayerPercentage()) + getEtaText(prayerEtaSeconds);
     }
 
 public String getInventoryText() {
     int totalSlots = 28;
     int usagePercentage = (inventoryUsedSlots * 100) / totalSlots;
-    return String.format("%d/28 (%d%%)", inventoryUsedSlots, usagePercentage);
+    return String.format("%d/28 (%d%%)", inventoryUsedSlots, usagePercentage) + getEtaText(inventoryEtaSeconds);
+}
+
+public String getWatchedItemText() {
+    return watchedItemName + ": " + watchedItemCount;
+}
+
+public String getSkillText(Skill skill) {
+    int index = skill.ordinal();
+    return String.format("%s: %d/%d", skill.getName(), skillBoosted[index], skillReal[index]);
+}
+
+public String getBoostText() {
+    if (boostSkill == null) {
+        return "Boost: none";
+    }
+    return String.format("Boost: %s +%d", boostSkill.getName(), boostLevels) + getEtaText(boostExpirySeconds);
+}
+
+public String getTargetText() {
+    if (targetDead) {
+        return targetName.isEmpty() ? "Target: dead" : "Target: " + targetName + " (dead)";
+    }
+    if (targetName.isEmpty()) {
+        return String.format("Target: none (%d:%02d)", noTargetSeconds / 60, noTargetSeconds % 60);
+    }
+    if (targetHealthPercent < 0) {
+        return "Target: " + targetName;
+    }
+    return String.format("Target: %s %d%%", targetName, targetHealthPercent);
+}
+
+public String getDamageText() {
+    return String.format("Dmg %d/min, heal %d/min", damagePerMinute, healingPerMinute) + getEtaText(deathEtaSeconds);
+}
+
+public String getXpRateText() {
+    if (xpSkill == null) {
+        return "XP: -";
+    }
+    return String.format("%s: %,d xp/h (%,d/h)", xpSkill.getName(), xpPerHour, actionsPerHour) + getEtaText(levelEtaSeconds);
+}
+
+public String getPrayerDrainText() {
+    if (prayerEmptySeconds < 0) {
+        return null;
+    }
+    return String.format("%d active, empty in %d:%02d", activePrayerCount, prayerEmptySeconds / 60, prayerEmptySeconds % 60);
+}
+
+private static String getEtaText(int seconds) {
+    if (seconds < 0) {
+        return "";
+    }
+    return String.format(" ~%d:%02d", seconds / 60, seconds % 60);
 }
 
 public int getSpecialAttackEnergyPercentage() {
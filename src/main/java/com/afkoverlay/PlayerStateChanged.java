@@ -0,0 +1,80 @@
+package com.afkoverlay;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Posted on the RuneLite event bus, on the client thread, when the player's state changed.
+ * At most one event is posted per game tick. The change mask tells subscribers which
+ * values differ from the previous event, so they can skip work that isn't affected.
+ * Instances are immutable.
+ */
+@Value
+@With
+public class PlayerStateChanged {
+    public static final int HP = 1;
+    public static final int PRAYER = 1 << 1;
+    public static final int INVENTORY = 1 << 2;
+    public static final int SPECIAL_ATTACK = 1 << 3;
+    public static final int IDLE = 1 << 4;
+    public static final int LOGOUT_TIMER = 1 << 5;
+    public static final int CHARACTER = 1 << 6;
+
+    private final int tick;
+    private final int changes;
+    private final String characterName;
+    private final int currentHp;
+    private final int maxHp;
+    private final int currentPrayer;
+    private final int maxPrayer;
+    private final int inventoryUsedSlots;
+    private final int specialAttackEnergy;
+    private final boolean idle;
+    private final IdleState idleState;
+    private final int logoutSecondsRemaining;
+
+    public boolean hasChanged(int mask) {
+        return (changes & mask) != 0;
+    }
+
+    /**
+     * Builds the event for the current state, or returns null if nothing in it changed
+     * since the previous event.
+     */
+    public static PlayerStateChanged of(int tick, PlayerInfo info, PlayerStateChanged previous) {
+        int changes = 0;
+        if (previous == null) {
+            changes = HP | PRAYER | INVENTORY | SPECIAL_ATTACK | IDLE | LOGOUT_TIMER | CHARACTER;
+        } else {
+            if (previous.currentHp != info.getCurrentHp() || previous.maxHp != info.getMaxHp()) {
+                changes |= HP;
+            }
+            if (previous.currentPrayer != info.getCurrentPrayer() || previous.maxPrayer != info.getMaxPrayer()) {
+                changes |= PRAYER;
+            }
+            if (previous.inventoryUsedSlots != info.getInventoryUsedSlots()) {
+                changes |= INVENTORY;
+            }
+            if (previous.specialAttackEnergy != info.getSpecialAttackEnergy()) {
+                changes |= SPECIAL_ATTACK;
+            }
+            if (previous.idle != info.isIdle() || previous.idleState != info.getIdleState()) {
+                changes |= IDLE;
+            }
+            if (previous.logoutSecondsRemaining != info.getLogoutSecondsRemaining()) {
+                changes |= LOGOUT_TIMER;
+            }
+            if (!previous.characterName.equals(info.getCharacterName())) {
+                changes |= CHARACTER;
+            }
+        }
+
+        if (changes == 0) {
+            return null;
+        }
+        return new PlayerStateChanged(tick, changes, info.getCharacterName(),
+            info.getCurrentHp(), info.getMaxHp(), info.getCurrentPrayer(), info.getMaxPrayer(),
+            info.getInventoryUsedSlots(), info.getSpecialAttackEnergy(), info.isIdle(), info.getIdleState(),
+            info.getLogoutSecondsRemaining());
+    }
+}
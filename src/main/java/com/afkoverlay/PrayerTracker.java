@@ -0,0 +1,134 @@
+package com.afkoverlay;
+
+import net.runelite.api.Client;
+import net.runelite.api.Prayer;
+
+import java.util.Arrays;
+
+/**
+ * Tracks active prayers from their varbits.
+ * A table built once maps each prayer varbit to its prayer, so a VarbitChanged event
+ * is an array lookup and the active protection prayer is known without any string work.
+ */
+public class PrayerTracker {
+    public static final String PROTECT_MELEE = "melee";
+    public static final String PROTECT_MAGIC = "magic";
+    public static final String PROTECT_RANGED = "ranged";
+    public static final String PROTECT_NONE = "";
+
+    private static final Prayer[] PRAYERS = Prayer.values();
+
+    // Varbit id -> prayer ordinal, -1 for varbits that are not prayers
+    private final int[] prayerByVarbit;
+    // Prayer ordinal -> protection name, null for non-protection prayers
+    private final String[] protectionByPrayer = new String[PRAYERS.length];
+
+    private final boolean[] active = new boolean[PRAYERS.length];
+    private volatile int activeCount = 0;
+    private volatile double drainRate = 0;
+    private volatile String activeProtection = PROTECT_NONE;
+
+    public PrayerTracker() {
+        int maxVarbit = 0;
+        for (Prayer prayer : PRAYERS) {
+            maxVarbit = Math.max(maxVarbit, prayer.getVarbit());
+        }
+
+        prayerByVarbit = new int[maxVarbit + 1];
+        Arrays.fill(prayerByVarbit, -1);
+        for (Prayer prayer : PRAYERS) {
+            prayerByVarbit[prayer.getVarbit()] = prayer.ordinal();
+        }
+
+        protectionByPrayer[Prayer.PROTECT_FROM_MELEE.ordinal()] = PROTECT_MELEE;
+        protectionByPrayer[Prayer.PROTECT_FROM_MAGIC.ordinal()] = PROTECT_MAGIC;
+        protectionByPrayer[Prayer.PROTECT_FROM_MISSILES.ordinal()] = PROTECT_RANGED;
+    }
+
+    /**
+     * Applies a varbit change. Returns true if the varbit belongs to a prayer.
+     */
+    public boolean onVarbitChanged(int varbitId, int value) {
+        if (varbitId < 0 || varbitId >= prayerByVarbit.length || prayerByVarbit[varbitId] < 0) {
+            return false;
+        }
+
+        setActive(prayerByVarbit[varbitId], value != 0);
+        return true;
+    }
+
+    /**
+     * Reads every prayer varbit once, for when the plugin starts while logged in.
+     */
+    public void refresh(Client client) {
+        for (Prayer prayer : PRAYERS) {
+            setActive(prayer.ordinal(), client.getVarbitValue(prayer.getVarbit()) != 0);
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(active, false);
+        activeCount = 0;
+        drainRate = 0;
+        activeProtection = PROTECT_NONE;
+    }
+
+    private void setActive(int prayerIndex, boolean isActive) {
+        if (active[prayerIndex] == isActive) {
+            return;
+        }
+        active[prayerIndex] = isActive;
+
+        // Protection names are shared constants, so identity comparison is enough
+        String protection = protectionByPrayer[prayerIndex];
+        if (protection != null) {
+            if (isActive) {
+                activeProtection = protection;
+            } else if (protection == activeProtection) {
+                activeProtection = PROTECT_NONE;
+            }
+        }
+
+        // Only recomputed when a prayer toggles
+        int count = 0;
+        double rate = 0;
+        for (int i = 0; i < PRAYERS.length; i++) {
+            if (active[i]) {
+                count++;
+                rate += PRAYERS[i].getDrainRate();
+            }
+        }
+        activeCount = count;
+        drainRate = rate;
+    }
+
+    public boolean isActive(Prayer prayer) {
+        return active[prayer.ordinal()];
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * Combined drain of the active prayers in prayer points per minute at +0 prayer bonus.
+     */
+    public double getDrainRate() {
+        return drainRate;
+    }
+
+    public String getActiveProtection() {
+        return activeProtection;
+    }
+
+    /**
+     * Game ticks until the given number of prayer points is drained, or -1 if nothing drains.
+     */
+    public static int ticksToDrain(int points, double drainRate, int prayerBonus) {
+        if (drainRate <= 0 || points <= 0) {
+            return -1;
+        }
+        double secondsPerPoint = (60.0 / drainRate) * (1.0 + prayerBonus / 30.0);
+        return (int) Math.ceil(points * secondsPerPoint * 1000 / IdleTracker.GAME_TICK_MS);
+    }
+}
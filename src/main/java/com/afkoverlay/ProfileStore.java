@@ -0,0 +1,103 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory index of per-character overlay profiles.
+ * Profiles are read from the config once at startup; after that lookups never touch the config.
+ */
+@Slf4j
+public class ProfileStore {
+    private static final String CONFIG_GROUP = "afkoverlay";
+    static final String KEY_PREFIX = "profile.";
+
+    private final Map<String, OverlayProfile> profiles = new ConcurrentHashMap<>();
+
+    public void load(ConfigManager configManager) {
+        profiles.clear();
+
+        List<String> keys = configManager.getConfigurationKeys(CONFIG_GROUP + "." + KEY_PREFIX);
+        if (keys == null) {
+            return;
+        }
+
+        for (String fullKey : keys) {
+            // Keys are returned as "group.profile.<name>"
+            int index = fullKey.indexOf(KEY_PREFIX);
+            if (index < 0) {
+                continue;
+            }
+            String configKey = fullKey.substring(index);
+            String value = configManager.getConfiguration(CONFIG_GROUP, configKey);
+            if (value == null) {
+                continue;
+            }
+
+            OverlayProfile profile = OverlayProfile.parse(configKey, value);
+            if (profile != null) {
+                profiles.put(configKey, profile);
+            } else {
+                log.debug("Ignoring malformed profile {}", configKey);
+            }
+        }
+
+        log.debug("Loaded {} overlay profiles", profiles.size());
+    }
+
+    public OverlayProfile get(String characterName) {
+        return profiles.get(toKey(characterName));
+    }
+
+    /**
+     * Creates and stores a profile for a character seen for the first time.
+     */
+    public OverlayProfile create(String characterName, int rowMask, AlertThresholds thresholds) {
+        OverlayProfile profile = new OverlayProfile(toKey(characterName), 0, 0, 0, 0, rowMask, thresholds);
+        profiles.put(profile.getKey(), profile);
+        return profile;
+    }
+
+    /**
+     * Returns the stored version of a profile, which may have changed since it was handed out.
+     */
+    public OverlayProfile latest(OverlayProfile profile) {
+        return profiles.getOrDefault(profile.getKey(), profile);
+    }
+
+    /**
+     * Applies a change to the stored version of a profile and saves the result if it differs.
+     * Changes run one at a time, so changes made on different threads are never lost.
+     * Returns the stored profile after the change.
+     */
+    public synchronized OverlayProfile update(ConfigManager configManager, OverlayProfile profile, UnaryOperator<OverlayProfile> change) {
+        OverlayProfile current = latest(profile);
+        OverlayProfile updated = change.apply(current);
+        if (updated != current) {
+            profiles.put(updated.getKey(), updated);
+            save(configManager, updated);
+        }
+        return updated;
+    }
+
+    private void save(ConfigManager configManager, OverlayProfile profile) {
+        if (configManager != null) {
+            configManager.setConfiguration(CONFIG_GROUP, profile.getKey(), profile.serialize());
+        }
+    }
+
+    public static boolean isProfileKey(String configKey) {
+        return configKey.startsWith(KEY_PREFIX);
+    }
+
+    private static String toKey(String characterName) {
+        // Character names can contain spaces and non-breaking spaces
+        return KEY_PREFIX + characterName.toLowerCase(Locale.ROOT).replace(' ', '_').replace('\u00A0', '_');
+    }
+}
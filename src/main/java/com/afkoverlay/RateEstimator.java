@@ -0,0 +1,102 @@
+package com.afkoverlay;
+
+/**
+ * Windowed least-squares fit of a value over game ticks.
+ * Samples live in primitive ring buffers and the regression sums are kept as exact
+ * longs, so adding a sample and querying the rate are both O(1).
+ */
+public class RateEstimator {
+    private static final int MIN_SAMPLES = 10;
+
+    private final int[] ticks;
+    private final int[] values;
+    private int count = 0;
+    private int next = 0;
+    private int latestValue = 0;
+
+    private long sumX = 0;
+    private long sumY = 0;
+    private long sumXY = 0;
+    private long sumXX = 0;
+
+    public RateEstimator(int windowTicks) {
+        ticks = new int[windowTicks];
+        values = new int[windowTicks];
+    }
+
+    public void add(int tick, int value) {
+        if (count > 0) {
+            int lastTick = ticks[(next + ticks.length - 1) % ticks.length];
+            if (tick == lastTick) {
+                return; // Same tick captured twice
+            }
+            if (tick < lastTick) {
+                reset(); // Tick counter restarted
+            }
+        }
+
+        if (count == ticks.length) {
+            long oldX = ticks[next];
+            long oldY = values[next];
+            sumX -= oldX;
+            sumY -= oldY;
+            sumXY -= oldX * oldY;
+            sumXX -= oldX * oldX;
+            count--;
+        }
+
+        ticks[next] = tick;
+        values[next] = value;
+        next = (next + 1) % ticks.length;
+        count++;
+        latestValue = value;
+
+        long x = tick;
+        sumX += x;
+        sumY += value;
+        sumXY += x * value;
+        sumXX += x * x;
+    }
+
+    public void reset() {
+        count = 0;
+        next = 0;
+        sumX = 0;
+        sumY = 0;
+        sumXY = 0;
+        sumXX = 0;
+    }
+
+    /**
+     * Change in value per game tick, or 0 if there are not enough samples.
+     */
+    public double getSlopePerTick() {
+        if (count < MIN_SAMPLES) {
+            return 0;
+        }
+
+        long denominator = count * sumXX - sumX * sumX;
+        if (denominator == 0) {
+            return 0;
+        }
+        long numerator = count * sumXY - sumX * sumY;
+        return (double) numerator / denominator;
+    }
+
+    /**
+     * Game ticks until the value reaches the target at the current rate,
+     * or -1 if it is not moving towards the target.
+     */
+    public int ticksUntil(int target) {
+        double slope = getSlopePerTick();
+        if (slope == 0) {
+            return -1;
+        }
+
+        double ticksLeft = (target - latestValue) / slope;
+        if (ticksLeft < 0) {
+            return -1;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceil(ticksLeft));
+    }
+}
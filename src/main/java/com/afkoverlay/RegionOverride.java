@@ -0,0 +1,24 @@
+package com.afkoverlay;
+
+import lombok.Value;
+
+/**
+ * Thresholds set for a map region, -1 for values that keep the character's setting.
+ */
+@Value
+public class RegionOverride {
+    private final int lowHp;
+    private final int lowPrayer;
+    private final int highSpecialAttack;
+    private final int inventory;
+    private final int idleMs;
+
+    public AlertThresholds apply(AlertThresholds base) {
+        return new AlertThresholds(
+            lowHp >= 0 ? lowHp : base.getLowHp(),
+            lowPrayer >= 0 ? lowPrayer : base.getLowPrayer(),
+            highSpecialAttack >= 0 ? highSpecialAttack : base.getHighSpecialAttack(),
+            inventory >= 0 ? inventory : base.getInventory(),
+            idleMs >= 0 ? idleMs : base.getIdleMs());
+    }
+}
@@ -0,0 +1,102 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Threshold overrides bound to map regions, parsed from the region profiles setting.
+ * Each entry is one or more region ids, a colon and the thresholds to override, e.g.
+ * "12850 12851: hp=40, prayer=20". Entries are separated by new lines or semicolons.
+ * Lookups are a single hash map get, only done when the player changes region.
+ */
+@Slf4j
+public class RegionProfiles {
+    private final Map<Integer, RegionOverride> overrides;
+
+    private RegionProfiles(Map<Integer, RegionOverride> overrides) {
+        this.overrides = overrides;
+    }
+
+    /**
+     * The overrides for a region, or null if the region has none.
+     */
+    public RegionOverride get(int regionId) {
+        return overrides.get(regionId);
+    }
+
+    public int size() {
+        return overrides.size();
+    }
+
+    /**
+     * Parses the setting. Malformed entries are logged and skipped.
+     */
+    public static RegionProfiles parse(String text) {
+        Map<Integer, RegionOverride> overrides = new HashMap<>();
+        if (text == null) {
+            return new RegionProfiles(overrides);
+        }
+
+        for (String entry : text.split("[;\\n]")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+
+            int colon = entry.indexOf(':');
+            if (colon < 0) {
+                log.warn("Ignoring region profile without a colon: {}", entry.trim());
+                continue;
+            }
+
+            try {
+                RegionOverride override = parseOverride(entry.substring(colon + 1));
+                for (String regionId : entry.substring(0, colon).trim().split("[\\s,]+")) {
+                    overrides.put(Integer.parseInt(regionId), override);
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring malformed region profile: {}", entry.trim());
+            }
+        }
+        return new RegionProfiles(overrides);
+    }
+
+    private static RegionOverride parseOverride(String values) {
+        int lowHp = -1;
+        int lowPrayer = -1;
+        int highSpecialAttack = -1;
+        int inventory = -1;
+        int idleMs = -1;
+
+        for (String pair : values.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(pair);
+            }
+
+            int value = Integer.parseInt(parts[1].trim());
+            switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+                case "hp":
+                    lowHp = value;
+                    break;
+                case "prayer":
+                    lowPrayer = value;
+                    break;
+                case "spec":
+                    highSpecialAttack = value;
+                    break;
+                case "inventory":
+                    inventory = value;
+                    break;
+                case "idle":
+                    idleMs = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException(parts[0]);
+            }
+        }
+        return new RegionOverride(lowHp, lowPrayer, highSpecialAttack, inventory, idleMs);
+    }
+}
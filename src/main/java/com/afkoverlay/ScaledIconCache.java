@@ -0,0 +1,73 @@
+package com.afkoverlay;
+
+import javax.swing.ImageIcon;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Caches resized icons for every icon size.
+ * Each entry holds one prescaled variant per screen scale factor, so Swing picks the
+ * matching resolution when the window moves between monitors instead of resampling.
+ */
+public class ScaledIconCache {
+    private final int minSize;
+    private final int maxSize;
+    private final Map<BufferedImage, ImageIcon[]> cache = new IdentityHashMap<>();
+    private double[] scales = { 1.0 };
+
+    public ScaledIconCache(int minSize, int maxSize) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Sets the screen scale factors to prescale for. Clears the cache if they changed.
+     */
+    public void setScales(double[] newScales) {
+        if (!Arrays.equals(scales, newScales)) {
+            scales = newScales.clone();
+            cache.clear();
+        }
+    }
+
+    public ImageIcon get(BufferedImage source, int size) {
+        if (source == null) {
+            return null;
+        }
+
+        size = Math.max(minSize, Math.min(maxSize, size));
+        ImageIcon[] icons = cache.computeIfAbsent(source, k -> new ImageIcon[maxSize - minSize + 1]);
+        ImageIcon icon = icons[size - minSize];
+        if (icon == null) {
+            icon = createIcon(source, size);
+            icons[size - minSize] = icon;
+        }
+        return icon;
+    }
+
+    private ImageIcon createIcon(BufferedImage source, int size) {
+        Image[] variants = new Image[scales.length];
+        for (int i = 0; i < scales.length; i++) {
+            int pixels = (int) Math.round(size * scales[i]);
+            variants[i] = resample(source, pixels);
+        }
+        // The first variant is the 1.0 base image and defines the logical icon size
+        return new ImageIcon(new BaseMultiResolutionImage(variants));
+    }
+
+    private static BufferedImage resample(BufferedImage source, int pixels) {
+        BufferedImage scaled = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = scaled.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g2d.drawImage(source, 0, 0, pixels, pixels, null);
+        g2d.dispose();
+        return scaled;
+    }
+}
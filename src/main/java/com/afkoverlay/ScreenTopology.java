@@ -0,0 +1,109 @@
+package com.afkoverlay;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.util.Arrays;
+
+/**
+ * Cached view of the connected screens.
+ * The owner calls {@link #refresh()} when the display configuration changes; lookups only
+ * read the cached arrays and never query the screen devices.
+ */
+public class ScreenTopology {
+    private GraphicsDevice[] devices = new GraphicsDevice[0];
+    private Rectangle[] bounds = new Rectangle[0];
+    private int[] refreshRates = new int[0];
+    private double[] scales = { 1.0 };
+    private int defaultIndex = 0;
+
+    public void refresh() {
+        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        GraphicsDevice[] screens = ge.getScreenDevices();
+        GraphicsDevice defaultScreen = ge.getDefaultScreenDevice();
+
+        Rectangle[] newBounds = new Rectangle[screens.length];
+        int[] newRefreshRates = new int[screens.length];
+        double[] newScales = new double[screens.length + 1];
+        int newDefaultIndex = 0;
+
+        // Scale 1.0 is always included as the base resolution
+        newScales[0] = 1.0;
+        for (int i = 0; i < screens.length; i++) {
+            GraphicsConfiguration config = screens[i].getDefaultConfiguration();
+            newBounds[i] = config.getBounds();
+
+            DisplayMode displayMode = screens[i].getDisplayMode();
+            newRefreshRates[i] = displayMode != null ? displayMode.getRefreshRate() : DisplayMode.REFRESH_RATE_UNKNOWN;
+
+            newScales[i + 1] = scaleOf(config);
+
+            if (screens[i] == defaultScreen) {
+                newDefaultIndex = i;
+            }
+        }
+
+        devices = screens;
+        bounds = newBounds;
+        refreshRates = newRefreshRates;
+        scales = distinct(newScales);
+        defaultIndex = newDefaultIndex;
+    }
+
+    /**
+     * Returns the bounds of the first screen intersecting the window, or the primary screen.
+     * The returned rectangle is shared and must not be modified.
+     */
+    public Rectangle getContainingScreen(Rectangle windowBounds) {
+        if (bounds.length == 0) {
+            refresh();
+        }
+        for (Rectangle screenBounds : bounds) {
+            if (screenBounds.intersects(windowBounds)) {
+                return screenBounds;
+            }
+        }
+        return bounds[defaultIndex];
+    }
+
+    public int getRefreshRate(GraphicsConfiguration gc) {
+        int index = gc != null ? indexOf(gc.getDevice()) : -1;
+        return index >= 0 ? refreshRates[index] : DisplayMode.REFRESH_RATE_UNKNOWN;
+    }
+
+    /**
+     * Distinct HiDPI scale factors of all screens, in ascending order, always including 1.0.
+     */
+    public double[] getScales() {
+        return scales;
+    }
+
+    private static double scaleOf(GraphicsConfiguration gc) {
+        AffineTransform transform = gc.getDefaultTransform();
+        return Math.max(transform.getScaleX(), transform.getScaleY());
+    }
+
+    private int indexOf(GraphicsDevice device) {
+        for (int i = 0; i < devices.length; i++) {
+            if (devices[i] == device) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double[] distinct(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[i] != sorted[count - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+}
@@ -0,0 +1,251 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small memory-mapped file shared by every client on the machine. Each publishing client
+ * owns one fixed-size slot, claimed with a file lock that the OS releases if the client dies,
+ * and writes its snapshot under a per-slot sequence lock so readers never see a half-written
+ * entry. Slots carry a heartbeat; readers skip slots whose heartbeat stopped.
+ */
+@Slf4j
+public class SharedDashboard {
+    public static final int MAX_SLOTS = 16;
+    static final long STALE_MS = 5_000;
+    private static final long HEARTBEAT_INTERVAL_MS = 1_000;
+    private static final int MAX_READ_ATTEMPTS = 8;
+
+    // Slot layout, in bytes
+    static final int SLOT_SIZE = 128;
+    static final int SEQ = 0;
+    private static final int HEARTBEAT = 8;
+    private static final int HP = 16;
+    private static final int MAX_HP = 20;
+    private static final int PRAYER = 24;
+    private static final int MAX_PRAYER = 28;
+    private static final int INVENTORY = 32;
+    private static final int SPECIAL_ATTACK = 36;
+    private static final int IDLE_STATE = 40;
+    private static final int IDLE = 44;
+    private static final int LOGOUT_SECONDS = 48;
+    private static final int NAME_LENGTH = 52;
+    private static final int NAME = 56;
+    private static final int NAME_CHARS = 12;
+    private static final int FILE_SIZE = MAX_SLOTS * SLOT_SIZE;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final IdleState[] IDLE_STATES = IdleState.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final char[] nameScratch = new char[NAME_CHARS];
+    private FileLock slotLock;
+    private int slotBase = -1;
+    private ScheduledExecutorService heartbeat;
+
+    private SharedDashboard(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public static SharedDashboard open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            buffer.order(ByteOrder.nativeOrder());
+            return new SharedDashboard(channel, buffer);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public synchronized boolean hasSlot() {
+        return slotLock != null;
+    }
+
+    /**
+     * Claims the first slot no other client holds and starts its heartbeat.
+     * Returns false if every slot is taken.
+     */
+    public synchronized boolean claimSlot() throws IOException {
+        if (slotLock != null) {
+            return true;
+        }
+
+        for (int slot = 0; slot < MAX_SLOTS; slot++) {
+            FileLock lock;
+            try {
+                lock = channel.tryLock((long) slot * SLOT_SIZE, SLOT_SIZE, false);
+            } catch (OverlappingFileLockException e) {
+                continue; // Held by this process
+            }
+            if (lock != null) {
+                slotLock = lock;
+                slotBase = slot * SLOT_SIZE;
+                publish(new PlayerInfo());
+                beat();
+                heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "AFK Overlay dashboard");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                heartbeat.scheduleAtFixedRate(this::beat, HEARTBEAT_INTERVAL_MS, HEARTBEAT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                return true;
+            }
+        }
+
+        log.warn("All {} dashboard slots are in use", MAX_SLOTS);
+        return false;
+    }
+
+    /**
+     * Writes the snapshot into this client's slot. Does nothing without a slot.
+     */
+    public synchronized void publish(PlayerInfo info) {
+        if (slotBase < 0) {
+            return;
+        }
+
+        int base = slotBase;
+        // Rounded down to even in case the slot's previous owner died mid-write
+        int seq = (int) INT.getOpaque(buffer, base + SEQ) & ~1;
+        INT.setOpaque(buffer, base + SEQ, seq + 1);
+        VarHandle.storeStoreFence();
+
+        buffer.putInt(base + HP, info.getCurrentHp());
+        buffer.putInt(base + MAX_HP, info.getMaxHp());
+        buffer.putInt(base + PRAYER, info.getCurrentPrayer());
+        buffer.putInt(base + MAX_PRAYER, info.getMaxPrayer());
+        buffer.putInt(base + INVENTORY, info.getInventoryUsedSlots());
+        buffer.putInt(base + SPECIAL_ATTACK, info.getSpecialAttackEnergy());
+        buffer.putInt(base + IDLE_STATE, info.getIdleState().ordinal());
+        buffer.putInt(base + IDLE, info.isIdle() ? 1 : 0);
+        buffer.putInt(base + LOGOUT_SECONDS, info.getLogoutSecondsRemaining());
+        String name = info.getCharacterName() != null ? info.getCharacterName() : "";
+        int length = Math.min(name.length(), NAME_CHARS);
+        buffer.putInt(base + NAME_LENGTH, length);
+        for (int i = 0; i < length; i++) {
+            buffer.putChar(base + NAME + i * 2, name.charAt(i));
+        }
+
+        INT.setRelease(buffer, base + SEQ, seq + 2);
+    }
+
+    private synchronized void beat() {
+        if (slotBase >= 0) {
+            LONG.setRelease(buffer, slotBase + HEARTBEAT, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Gives up this client's slot, hiding it from readers straight away.
+     */
+    public synchronized void releaseSlot() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+        if (slotBase >= 0) {
+            LONG.setRelease(buffer, slotBase + HEARTBEAT, 0L);
+            slotBase = -1;
+        }
+        if (slotLock != null) {
+            try {
+                slotLock.release();
+            } catch (IOException e) {
+                log.debug("Unable to release the dashboard slot lock", e);
+            }
+            slotLock = null;
+        }
+    }
+
+    /**
+     * Copies every live slot into the targets, in slot order, and returns how many were filled.
+     * Slots that are empty, stale or being rewritten throughout the read are skipped.
+     */
+    public synchronized int read(PlayerInfo[] targets, long nowMs) {
+        int count = 0;
+        for (int slot = 0; slot < MAX_SLOTS && count < targets.length; slot++) {
+            int base = slot * SLOT_SIZE;
+            long heartbeatMs = (long) LONG.getAcquire(buffer, base + HEARTBEAT);
+            if (heartbeatMs == 0 || nowMs - heartbeatMs > STALE_MS) {
+                continue;
+            }
+            if (readSlot(base, targets[count])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean readSlot(int base, PlayerInfo target) {
+        for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+            int before = (int) INT.getAcquire(buffer, base + SEQ);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int hp = buffer.getInt(base + HP);
+            int maxHp = buffer.getInt(base + MAX_HP);
+            int prayer = buffer.getInt(base + PRAYER);
+            int maxPrayer = buffer.getInt(base + MAX_PRAYER);
+            int inventory = buffer.getInt(base + INVENTORY);
+            int specialAttack = buffer.getInt(base + SPECIAL_ATTACK);
+            int idleState = buffer.getInt(base + IDLE_STATE);
+            int idle = buffer.getInt(base + IDLE);
+            int logoutSeconds = buffer.getInt(base + LOGOUT_SECONDS);
+            int length = Math.max(0, Math.min(NAME_CHARS, buffer.getInt(base + NAME_LENGTH)));
+            for (int i = 0; i < length; i++) {
+                nameScratch[i] = buffer.getChar(base + NAME + i * 2);
+            }
+
+            VarHandle.loadLoadFence();
+            if ((int) INT.getOpaque(buffer, base + SEQ) != before) {
+                continue;
+            }
+
+            target.setCurrentHp(hp);
+            target.setMaxHp(maxHp);
+            target.setCurrentPrayer(prayer);
+            target.setMaxPrayer(maxPrayer);
+            target.setInventoryUsedSlots(inventory);
+            target.setSpecialAttackEnergy(specialAttack);
+            target.setIdleState(idleState >= 0 && idleState < IDLE_STATES.length ? IDLE_STATES[idleState] : IdleState.LOGGED_OUT);
+            target.setIdle(idle != 0);
+            target.setLogoutSecondsRemaining(logoutSeconds);
+            if (!target.getCharacterName().contentEquals(CharBuffer.wrap(nameScratch, 0, length))) {
+                target.setCharacterName(new String(nameScratch, 0, length));
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void close() {
+        releaseSlot();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("Unable to close the dashboard file", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.afkoverlay;
+
+import net.runelite.api.Client;
+import net.runelite.api.Skill;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Boosted and real levels of every skill, indexed by skill ordinal.
+ * Written from StatChanged on the client thread; the worker only copies skills whose
+ * dirty bit is set, so skills that didn't change cost nothing per tick.
+ */
+public class SkillLevels {
+    public static final Skill[] SKILLS = Skill.values();
+
+    private final int[] boosted = new int[SKILLS.length];
+    private final int[] real = new int[SKILLS.length];
+    private long dirtyMask = 0;
+
+    public synchronized void update(Skill skill, int realLevel, int boostedLevel) {
+        int index = skill.ordinal();
+        if (boosted[index] == boostedLevel && real[index] == realLevel) {
+            return;
+        }
+        boosted[index] = boostedLevel;
+        real[index] = realLevel;
+        dirtyMask |= 1L << index;
+    }
+
+    /**
+     * Reads every skill once, for when the plugin starts while logged in. Runs on the client thread.
+     */
+    public void refresh(Client client) {
+        for (Skill skill : SKILLS) {
+            update(skill, client.getRealSkillLevel(skill), client.getBoostedSkillLevel(skill));
+        }
+    }
+
+    /**
+     * Copies the skills that changed since the last call into the targets.
+     * Returns the mask of copied skills, 0 if nothing changed.
+     */
+    public synchronized long drainDirty(int[] boostedTarget, int[] realTarget) {
+        long mask = dirtyMask;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            boostedTarget[index] = boosted[index];
+            realTarget[index] = real[index];
+        }
+        dirtyMask = 0;
+        return mask;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(boosted, 0);
+        Arrays.fill(real, 0);
+        dirtyMask = (1L << SKILLS.length) - 1;
+    }
+
+    /**
+     * Parses a comma separated list of skill names into a mask of skill ordinals.
+     * Unknown names are ignored.
+     */
+    public static long parseSkillMask(String skillList) {
+        long mask = 0;
+        if (skillList == null) {
+            return mask;
+        }
+
+        for (String name : skillList.split(",")) {
+            String trimmed = name.trim().toUpperCase(Locale.ROOT);
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            for (Skill skill : SKILLS) {
+                if (skill.name().equals(trimmed)) {
+                    mask |= 1L << skill.ordinal();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+}
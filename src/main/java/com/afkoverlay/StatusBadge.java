@@ -0,0 +1,129 @@
+package com.afkoverlay;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small window icons showing HP and prayer bars and a status dot, so a minimized overlay
+ * still shows how the character is doing. Values are quantised into a few levels and the
+ * images for recently used states are kept, so an icon is only drawn when the state moves
+ * to a level that isn't cached.
+ */
+public class StatusBadge {
+    public static final int NO_BADGE = -1;
+    private static final int LEVELS = 8;
+    private static final int STATES = 4;
+    private static final int CACHE_SIZE = 16;
+    private static final int[] SIZES = { 16, 32, 48 };
+    private static final Color BACKGROUND_COLOR = new Color(30, 30, 30);
+    private static final Color EMPTY_BAR_COLOR = new Color(70, 70, 70);
+
+    private final Map<Integer, List<Image>> cache = new LinkedHashMap<Integer, List<Image>>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Image>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Packs the quantised HP, prayer and status into a single key. Equal keys draw the same icon.
+     */
+    public static int key(PlayerInfo info) {
+        int hp = quantise(info.getCurrentHp(), info.getMaxHp());
+        int prayer = quantise(info.getCurrentPrayer(), info.getMaxPrayer());
+        int state;
+        switch (info.getIdleState()) {
+            case LOGOUT_IMMINENT:
+                state = 2;
+                break;
+            case LOGGED_OUT:
+                state = 3;
+                break;
+            default:
+                state = info.isIdle() ? 1 : 0;
+                break;
+        }
+        return (hp * (LEVELS + 1) + prayer) * STATES + state;
+    }
+
+    private static int quantise(int value, int max) {
+        if (max <= 0) {
+            return 0;
+        }
+        // Rounded up, so only an empty bar reads as empty
+        return Math.max(0, Math.min(LEVELS, (value * LEVELS + max - 1) / max));
+    }
+
+    /**
+     * Returns the icons for a key, one per icon size, drawing them if they aren't cached.
+     */
+    public List<Image> get(int key) {
+        List<Image> icons = cache.get(key);
+        if (icons == null) {
+            Image[] images = new Image[SIZES.length];
+            for (int i = 0; i < SIZES.length; i++) {
+                images[i] = draw(key, SIZES[i]);
+            }
+            icons = Arrays.asList(images);
+            cache.put(key, icons);
+        }
+        return icons;
+    }
+
+    private static Image draw(int key, int size) {
+        int state = key % STATES;
+        int prayer = key / STATES % (LEVELS + 1);
+        int hp = key / STATES / (LEVELS + 1);
+
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int arc = size / 4;
+        g2d.setColor(BACKGROUND_COLOR);
+        g2d.fillRoundRect(0, 0, size, size, arc, arc);
+
+        // Two bars filling from the bottom
+        int margin = Math.max(1, size / 8);
+        int barWidth = size / 4;
+        int barHeight = size - margin * 2;
+        drawBar(g2d, margin, margin, barWidth, barHeight, hp, FloatingOverlayWindow.Constants.HP_COLOR);
+        drawBar(g2d, margin * 2 + barWidth, margin, barWidth, barHeight, prayer, FloatingOverlayWindow.Constants.PRAYER_COLOR);
+
+        // Status dot in the top right
+        int dot = size * 3 / 8;
+        g2d.setColor(getStateColor(state));
+        g2d.fillOval(size - margin - dot, margin, dot, dot);
+
+        g2d.dispose();
+        return image;
+    }
+
+    private static void drawBar(Graphics2D g2d, int x, int y, int width, int height, int level, Color color) {
+        g2d.setColor(EMPTY_BAR_COLOR);
+        g2d.fillRect(x, y, width, height);
+        int filled = height * level / LEVELS;
+        g2d.setColor(color);
+        g2d.fillRect(x, y + height - filled, width, filled);
+    }
+
+    private static Color getStateColor(int state) {
+        switch (state) {
+            case 1:
+                return FloatingOverlayWindow.Constants.IDLE_COLOR;
+            case 2:
+                return FloatingOverlayWindow.Constants.DANGER_COLOR;
+            case 3:
+                return FloatingOverlayWindow.Constants.DARK_TEXT_COLOR;
+            default:
+                return FloatingOverlayWindow.Constants.ACTIVE_COLOR;
+        }
+    }
+}
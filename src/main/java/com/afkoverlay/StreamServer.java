@@ -0,0 +1,459 @@
+package com.afkoverlay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams player updates and alerts as Server-Sent Events on 127.0.0.1 for local tools.
+ * One selector thread serves every subscriber with non-blocking writes. Each subscriber
+ * has a small queue of pending events that drops the oldest when the consumer falls
+ * behind, and pending events are written in batches. Player updates are coalesced, so
+ * only the latest one waits to be sent.
+ */
+@Slf4j
+public class StreamServer {
+    public static final String PATH = "/events";
+    private static final int MAX_SUBSCRIBERS = 8;
+    private static final int SUBSCRIBER_QUEUE_SIZE = 64;
+    private static final int ALERT_QUEUE_SIZE = 64;
+    private static final int MAX_REQUEST_BYTES = 2048;
+    private static final int WRITE_BUFFER_BYTES = 16 * 1024;
+    private static final long STOP_TIMEOUT_MS = 2000;
+    private static final byte[] STREAM_HEADERS = ("HTTP/1.1 200 OK\r\n"
+        + "Content-Type: text/event-stream\r\n"
+        + "Cache-Control: no-cache\r\n"
+        + "Connection: keep-alive\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NOT_FOUND = ("HTTP/1.1 404 Not Found\r\n"
+        + "Content-Length: 0\r\n"
+        + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+
+    private final int requestedPort;
+    private volatile int port;
+    // Handoff from the worker thread; everything else belongs to the selector thread
+    private final AtomicReference<byte[]> pendingPlayer = new AtomicReference<>();
+    private final ArrayBlockingQueue<byte[]> pendingAlerts = new ArrayBlockingQueue<>(ALERT_QUEUE_SIZE);
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private byte[] latestPlayer;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread thread;
+
+    /**
+     * @param port the port to listen on, or 0 to pick a free one
+     */
+    public StreamServer(int port) {
+        this.requestedPort = port;
+    }
+
+    public void start() throws IOException {
+        selector = Selector.open();
+        try {
+            server = ServerSocketChannel.open();
+            // Lets a restarted server take the port back while old connections are still closing
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort));
+            port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            if (server != null) {
+                server.close();
+            }
+            selector.close();
+            throw e;
+        }
+
+        thread = new Thread(this::run, "AFK Overlay stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the selector thread and waits until it has closed the listening socket,
+     * so a new server can bind the same port straight away.
+     */
+    public void stop() {
+        Thread stopping = thread;
+        if (stopping == null) {
+            return;
+        }
+        thread = null;
+        stopping.interrupt();
+        wakeSelector();
+        try {
+            stopping.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (stopping.isAlive()) {
+            log.warn("Event stream did not stop in time");
+        }
+    }
+
+    /**
+     * Returns the port the server is listening on, once started.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Queues a player update, replacing any update that has not been sent yet. Never blocks.
+     */
+    public void publishPlayer(PlayerInfo info) {
+        pendingPlayer.set(frame("player", playerJson(info)));
+        wakeUp();
+    }
+
+    /**
+     * Queues an alert, dropping the oldest unsent alert if too many are waiting. Never blocks.
+     */
+    public void publishAlert(AlertType type, int tick, String message) {
+        byte[] frame = frame("alert", alertJson(type, tick, message));
+        while (!pendingAlerts.offer(frame)) {
+            pendingAlerts.poll();
+        }
+        wakeUp();
+    }
+
+    private void wakeUp() {
+        // One wakeup covers everything queued until the selector thread runs
+        if (wakeupPending.compareAndSet(false, true)) {
+            wakeSelector();
+        }
+    }
+
+    private synchronized void wakeSelector() {
+        if (selector.isOpen()) {
+            selector.wakeup();
+        }
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                selector.select();
+                wakeupPending.set(false);
+                distributePending();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+
+                    Subscriber subscriber = (Subscriber) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            read(subscriber);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(subscriber);
+                        }
+                    } catch (IOException e) {
+                        close(subscriber);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Event stream stopped", e);
+        } finally {
+            for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+                close(subscriber);
+            }
+            closeQuietly(server);
+            synchronized (this) {
+                closeQuietly(selector);
+            }
+        }
+    }
+
+    private void distributePending() {
+        byte[] player = pendingPlayer.getAndSet(null);
+        if (player != null) {
+            latestPlayer = player;
+        }
+        if (player == null && pendingAlerts.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> alerts = new ArrayList<>();
+        pendingAlerts.drainTo(alerts);
+        // Backwards, since a failed subscriber removes itself
+        for (int i = subscribers.size() - 1; i >= 0; i--) {
+            Subscriber subscriber = subscribers.get(i);
+            if (!subscriber.streaming) {
+                continue;
+            }
+            if (player != null) {
+                subscriber.enqueue(player);
+            }
+            for (byte[] alert : alerts) {
+                subscriber.enqueue(alert);
+            }
+            try {
+                flush(subscriber);
+            } catch (IOException e) {
+                close(subscriber);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        if (subscribers.size() >= MAX_SUBSCRIBERS) {
+            channel.close();
+            return;
+        }
+
+        channel.configureBlocking(false);
+        Subscriber subscriber = new Subscriber(channel);
+        subscriber.key = channel.register(selector, SelectionKey.OP_READ, subscriber);
+        subscribers.add(subscriber);
+    }
+
+    private void read(Subscriber subscriber) throws IOException {
+        ByteBuffer request = subscriber.request;
+        if (subscriber.streaming) {
+            request.clear(); // Anything sent after the request is ignored
+        }
+        if (subscriber.channel.read(request) < 0) {
+            close(subscriber);
+            return;
+        }
+        if (subscriber.streaming) {
+            return;
+        }
+
+        String head = new String(request.array(), 0, request.position(), StandardCharsets.US_ASCII);
+        if (!head.contains("\r\n\r\n")) {
+            if (!request.hasRemaining()) {
+                close(subscriber); // Request too large
+            }
+            return;
+        }
+
+        subscriber.out.clear();
+        if (isStreamRequest(head, port)) {
+            subscriber.streaming = true;
+            subscriber.out.put(STREAM_HEADERS).flip();
+            if (latestPlayer != null) {
+                subscriber.enqueue(latestPlayer);
+            }
+            flush(subscriber);
+        } else {
+            subscriber.out.put(NOT_FOUND).flip();
+            subscriber.channel.write(subscriber.out);
+            close(subscriber);
+        }
+    }
+
+    private static boolean isStreamRequest(String head, int port) {
+        String requestLine = head.substring(0, head.indexOf("\r\n"));
+        if (!requestLine.startsWith("GET " + PATH + " ") && !requestLine.startsWith("GET " + PATH + "?")) {
+            return false;
+        }
+
+        // Only answer requests addressed to the loopback interface, so web pages can't rebind a name to it
+        for (String line : head.split("\r\n")) {
+            if (line.regionMatches(true, 0, "Host:", 0, 5)) {
+                return isLoopbackHost(line.substring(5).trim(), port);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks a Host header value of the form host[:port] against the loopback names and the port.
+     */
+    static boolean isLoopbackHost(String value, int port) {
+        String host = value;
+        String hostPort = null;
+        int colon = value.lastIndexOf(':');
+        // A colon inside the brackets of an IPv6 address is not a port separator
+        if (colon >= 0 && colon > value.lastIndexOf(']')) {
+            host = value.substring(0, colon);
+            hostPort = value.substring(colon + 1);
+        }
+
+        if (!host.equalsIgnoreCase("localhost") && !host.equals("127.0.0.1") && !host.equals("[::1]")) {
+            return false;
+        }
+        if (hostPort == null) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(hostPort) == port;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes as many queued events as the socket accepts, packing them into one buffer per write.
+     */
+    private void flush(Subscriber subscriber) throws IOException {
+        ByteBuffer out = subscriber.out;
+        while (true) {
+            if (!out.hasRemaining()) {
+                if (subscriber.size == 0) {
+                    break;
+                }
+                out.clear();
+                while (subscriber.size > 0 && subscriber.peek().length <= out.remaining()) {
+                    out.put(subscriber.poll());
+                }
+                if (out.position() == 0) {
+                    subscriber.poll(); // Larger than the buffer, never sendable
+                }
+                out.flip();
+                continue;
+            }
+
+            subscriber.channel.write(out);
+            if (out.hasRemaining()) {
+                // Socket is full; wait until it drains while new events replace the oldest
+                subscriber.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                return;
+            }
+        }
+        subscriber.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    private void close(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscriber.key != null) {
+            subscriber.key.cancel();
+        }
+        closeQuietly(subscriber.channel);
+    }
+
+    private static void closeQuietly(java.io.Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Unable to close the event stream", e);
+        }
+    }
+
+    private static byte[] frame(String event, String json) {
+        return ("event: " + event + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String playerJson(PlayerInfo info) {
+        StringBuilder json = new StringBuilder(512);
+        json.append("{\"name\":").append(quote(info.getCharacterName()))
+            .append(",\"hp\":").append(info.getCurrentHp())
+            .append(",\"maxHp\":").append(info.getMaxHp())
+            .append(",\"prayer\":").append(info.getCurrentPrayer())
+            .append(",\"maxPrayer\":").append(info.getMaxPrayer())
+            .append(",\"inventory\":").append(info.getInventoryUsedSlots())
+            .append(",\"specialAttack\":").append(info.getSpecialAttackEnergy())
+            .append(",\"state\":\"").append(info.getIdleState().name()).append('"')
+            .append(",\"idle\":").append(info.isIdle())
+            .append(",\"logoutSeconds\":").append(info.getLogoutSecondsRemaining())
+            .append(",\"watchedItem\":").append(quote(info.getWatchedItemName()))
+            .append(",\"watchedItemCount\":").append(info.getWatchedItemCount())
+            .append(",\"target\":").append(quote(info.getTargetName()))
+            .append(",\"targetHealth\":").append(info.getTargetHealthPercent())
+            .append(",\"damagePerMinute\":").append(info.getDamagePerMinute())
+            .append(",\"healingPerMinute\":").append(info.getHealingPerMinute())
+            .append(",\"xpSkill\":").append(info.getXpSkill() != null ? quote(info.getXpSkill().getName()) : "null")
+            .append(",\"xpPerHour\":").append(info.getXpPerHour())
+            .append(",\"boostSkill\":").append(info.getBoostSkill() != null ? quote(info.getBoostSkill().getName()) : "null")
+            .append(",\"boostLevels\":").append(info.getBoostLevels())
+            .append(",\"boostExpirySeconds\":").append(info.getBoostExpirySeconds())
+            .append('}');
+        return json.toString();
+    }
+
+    static String alertJson(AlertType type, int tick, String message) {
+        return "{\"type\":\"" + type.name() + "\",\"name\":" + quote(type.getDisplayName())
+            + ",\"tick\":" + tick + ",\"message\":" + quote(message) + "}";
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static class Subscriber {
+        private final SocketChannel channel;
+        private final ByteBuffer request = ByteBuffer.allocate(MAX_REQUEST_BYTES);
+        // Pending bytes between position and limit
+        private final ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+        private final byte[][] queue = new byte[SUBSCRIBER_QUEUE_SIZE][];
+        private SelectionKey key;
+        private boolean streaming = false;
+        private int head = 0;
+        private int size = 0;
+
+        Subscriber(SocketChannel channel) {
+            this.channel = channel;
+            out.limit(0);
+        }
+
+        void enqueue(byte[] frame) {
+            if (size == queue.length) {
+                poll(); // Drop the oldest
+            }
+            queue[(head + size) % queue.length] = frame;
+            size++;
+        }
+
+        byte[] peek() {
+            return queue[head];
+        }
+
+        byte[] poll() {
+            byte[] frame = queue[head];
+            queue[head] = null;
+            head = (head + 1) % queue.length;
+            size--;
+            return frame;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.afkoverlay;
+
+import net.runelite.api.Actor;
+
+/**
+ * The local player's combat target, followed from InteractingChanged and ActorDeath
+ * so the NPC list never has to be scanned. Only used on the client thread.
+ */
+public class TargetTracker {
+    private Actor target;
+    // Stays set until the player picks a new target
+    private boolean targetDead = false;
+    // Tick the player last lost their target, -1 if not known yet
+    private int lostTick = -1;
+
+    public void onInteractingChanged(Actor newTarget, int tick) {
+        if (newTarget == target) {
+            return;
+        }
+
+        if (newTarget != null) {
+            targetDead = false;
+        }
+        lostTick = tick;
+        target = newTarget;
+    }
+
+    public void onActorDeath(Actor actor) {
+        if (actor != null && actor == target) {
+            targetDead = true;
+        }
+    }
+
+    public void reset() {
+        target = null;
+        targetDead = false;
+        lostTick = -1;
+    }
+
+    /**
+     * Copies the target's state into the capture.
+     */
+    public void capture(TickCapture capture, int tick) {
+        Actor current = target;
+        if (current == null) {
+            if (lostTick < 0) {
+                lostTick = tick;
+            }
+            capture.setTargetName("");
+            capture.setTargetHealthRatio(-1);
+            capture.setTargetHealthScale(-1);
+            capture.setTicksWithoutTarget(Math.max(0, tick - lostTick));
+        } else {
+            String name = current.getName();
+            capture.setTargetName(name != null ? name : "");
+            capture.setTargetHealthRatio(current.getHealthRatio());
+            capture.setTargetHealthScale(current.getHealthScale());
+            capture.setTicksWithoutTarget(0);
+            if (current.isDead()) {
+                targetDead = true;
+            }
+        }
+        capture.setTargetDead(targetDead);
+    }
+}
@@ -0,0 +1,67 @@
+package com.afkoverlay;
+
+import lombok.Data;
+
+/**
+ * Raw values read from the client on a game tick.
+ * Slots are preallocated and copied field by field, so capturing a tick never allocates.
+ */
+@Data
+public class TickCapture {
+    private boolean loggedIn;
+    private int tickCount;
+    private int currentHp;
+    private int maxHp;
+    private int currentPrayer;
+    private int maxPrayer;
+    private int specialAttackEnergy;
+    private int inventoryUsedSlots;
+    private int watchedItemCount;
+    private int animation;
+    private int poseAnimation;
+    private int idlePoseAnimation;
+    private int mouseIdleTicks;
+    private int keyboardIdleTicks;
+    private int activePrayerCount;
+    private double prayerDrainRate;
+    private int prayerBonus;
+    private String protectionPrayer;
+    private String characterName;
+    private String targetName;
+    private int targetHealthRatio;
+    private int targetHealthScale;
+    private boolean targetDead;
+    private int ticksWithoutTarget;
+    private int regionId;
+    // Time spent capturing on the client thread
+    private long captureNanos;
+
+    public void copyFrom(TickCapture other) {
+        loggedIn = other.loggedIn;
+        tickCount = other.tickCount;
+        currentHp = other.currentHp;
+        maxHp = other.maxHp;
+        currentPrayer = other.currentPrayer;
+        maxPrayer = other.maxPrayer;
+        specialAttackEnergy = other.specialAttackEnergy;
+        inventoryUsedSlots = other.inventoryUsedSlots;
+        watchedItemCount = other.watchedItemCount;
+        animation = other.animation;
+        poseAnimation = other.poseAnimation;
+        idlePoseAnimation = other.idlePoseAnimation;
+        mouseIdleTicks = other.mouseIdleTicks;
+        keyboardIdleTicks = other.keyboardIdleTicks;
+        activePrayerCount = other.activePrayerCount;
+        prayerDrainRate = other.prayerDrainRate;
+        prayerBonus = other.prayerBonus;
+        protectionPrayer = other.protectionPrayer;
+        characterName = other.characterName;
+        targetName = other.targetName;
+        targetHealthRatio = other.targetHealthRatio;
+        targetHealthScale = other.targetHealthScale;
+        targetDead = other.targetDead;
+        ticksWithoutTarget = other.ticksWithoutTarget;
+        regionId = other.regionId;
+        captureNanos = other.captureNanos;
+    }
+}
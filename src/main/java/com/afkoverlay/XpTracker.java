@@ -0,0 +1,204 @@
+package com.afkoverlay;
+
+import net.runelite.api.Experience;
+import net.runelite.api.Skill;
+
+import java.util.Arrays;
+
+/**
+ * XP gained per skill over a sliding window of game ticks.
+ * Each gain is stored in primitive ring buffers and per-skill sums are adjusted as gains
+ * enter and leave the window, so neither recording a gain nor reading a rate rescans history.
+ * Gains in the same skill on the same tick share one entry.
+ * The trained skill is the one with the most XP in the window.
+ */
+public class XpTracker {
+    public static final int WINDOW_TICKS = 3000; // 30 minutes
+    // Room for four skills gaining on every tick of the window; older gains are dropped beyond that
+    static final int CAPACITY = 4 * WINDOW_TICKS;
+    private static final int MIN_ELAPSED_TICKS = 10;
+    private static final long TICKS_PER_HOUR = 3600L * 1000 / IdleTracker.GAME_TICK_MS;
+
+    private final int[] gainTicks = new int[CAPACITY];
+    private final int[] gainSkills = new int[CAPACITY];
+    private final int[] gainXp = new int[CAPACITY];
+    private final int[] gainActions = new int[CAPACITY];
+    private int head = 0;
+    private int count = 0;
+    private int lastTick = 0;
+
+    // Per skill ordinal
+    private final int[] experience = new int[SkillLevels.SKILLS.length];
+    private final long[] windowXp = new long[SkillLevels.SKILLS.length];
+    private final int[] windowActions = new int[SkillLevels.SKILLS.length];
+    private final int[] firstGainTick = new int[SkillLevels.SKILLS.length];
+
+    private int trainedSkill = -1;
+    private int currentTick = 0;
+
+    public XpTracker() {
+        clear();
+    }
+
+    /**
+     * Records a skill's total XP. The first value seen for a skill is only a baseline.
+     */
+    public synchronized void onXpChanged(Skill skill, int xp, int tick) {
+        int index = skill.ordinal();
+        int previous = experience[index];
+        experience[index] = xp;
+        if (previous < 0 || xp <= previous) {
+            return;
+        }
+
+        if (count > 0 && tick < lastTick) {
+            clearWindow(); // Tick counter restarted
+        }
+
+        int slot = findGain(index, tick);
+        if (slot < 0) {
+            if (count == CAPACITY) {
+                dropOldest();
+            }
+            slot = (head + count) % CAPACITY;
+            gainTicks[slot] = tick;
+            gainSkills[slot] = index;
+            gainXp[slot] = 0;
+            gainActions[slot] = 0;
+            count++;
+        }
+        gainXp[slot] += xp - previous;
+        gainActions[slot]++;
+        lastTick = tick;
+
+        windowXp[index] += xp - previous;
+        windowActions[index]++;
+        if (firstGainTick[index] < 0) {
+            firstGainTick[index] = tick;
+        }
+    }
+
+    /**
+     * Drops gains that have left the window and picks the trained skill.
+     */
+    public synchronized void advance(int tick) {
+        currentTick = tick;
+        while (count > 0 && gainTicks[head] <= tick - WINDOW_TICKS) {
+            removeOldest();
+        }
+
+        trainedSkill = -1;
+        long mostXp = 0;
+        for (int i = 0; i < windowXp.length; i++) {
+            if (windowXp[i] > mostXp) {
+                mostXp = windowXp[i];
+                trainedSkill = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the slot of this tick's gain in a skill, or -1 if the skill gained nothing yet this tick.
+     */
+    private int findGain(int index, int tick) {
+        for (int i = count - 1; i >= 0; i--) {
+            int slot = (head + i) % CAPACITY;
+            if (gainTicks[slot] != tick) {
+                break;
+            }
+            if (gainSkills[slot] == index) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Makes room for a new gain while the oldest is still inside the window. Rates for its
+     * skill are then measured from the skill's next remaining gain, as if tracking started there.
+     */
+    private void dropOldest() {
+        int index = gainSkills[head];
+        removeOldest();
+        if (windowActions[index] == 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            int slot = (head + i) % CAPACITY;
+            if (gainSkills[slot] == index) {
+                firstGainTick[index] = gainTicks[slot];
+                return;
+            }
+        }
+    }
+
+    private void removeOldest() {
+        int index = gainSkills[head];
+        windowXp[index] -= gainXp[head];
+        windowActions[index] -= gainActions[head];
+        if (windowActions[index] == 0) {
+            // Start measuring again from the next gain
+            firstGainTick[index] = -1;
+        }
+        head = (head + 1) % CAPACITY;
+        count--;
+    }
+
+    private void clearWindow() {
+        head = 0;
+        count = 0;
+        Arrays.fill(windowXp, 0);
+        Arrays.fill(windowActions, 0);
+        Arrays.fill(firstGainTick, -1);
+        trainedSkill = -1;
+    }
+
+    public synchronized void clear() {
+        clearWindow();
+        Arrays.fill(experience, -1);
+    }
+
+    /**
+     * The skill with the most XP gained in the window, or null if nothing was gained.
+     */
+    public synchronized Skill getTrainedSkill() {
+        return trainedSkill < 0 ? null : SkillLevels.SKILLS[trainedSkill];
+    }
+
+    public synchronized int getXpPerHour() {
+        return (int) perHour(trainedSkill < 0 ? 0 : windowXp[trainedSkill]);
+    }
+
+    public synchronized int getActionsPerHour() {
+        return (int) perHour(trainedSkill < 0 ? 0 : windowActions[trainedSkill]);
+    }
+
+    private long perHour(long amount) {
+        if (trainedSkill < 0) {
+            return 0;
+        }
+        long elapsed = Math.min(WINDOW_TICKS, currentTick - firstGainTick[trainedSkill]);
+        if (elapsed < MIN_ELAPSED_TICKS) {
+            return 0;
+        }
+        return amount * TICKS_PER_HOUR / elapsed;
+    }
+
+    /**
+     * Game ticks until the trained skill reaches its next level at the current rate, or -1 if unknown.
+     */
+    public synchronized int getTicksToLevel() {
+        long xpPerHour = getXpPerHour();
+        if (xpPerHour <= 0) {
+            return -1;
+        }
+
+        int xp = experience[trainedSkill];
+        int level = Experience.getLevelForXp(xp);
+        if (level >= Experience.MAX_VIRT_LEVEL) {
+            return -1;
+        }
+        long remaining = Experience.getXpForLevel(level + 1) - xp;
+        return (int) Math.min(Integer.MAX_VALUE, (remaining * TICKS_PER_HOUR + xpPerHour - 1) / xpPerHour);
+    }
+}
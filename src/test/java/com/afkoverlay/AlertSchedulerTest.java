@@ -0,0 +1,106 @@
+package com.afkoverlay;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AlertSchedulerTest {
+    private final AlertScheduler scheduler = new AlertScheduler();
+
+    /**
+     * Runs every tick from first to last with the same alerts active and returns the ticks a type played on.
+     */
+    private List<Integer> playedTicks(AlertType type, int triggeredMask, int first, int last) {
+        List<Integer> ticks = new ArrayList<>();
+        for (int tick = first; tick <= last; tick++) {
+            if (scheduler.update(tick, triggeredMask) == type) {
+                ticks.add(tick);
+            }
+        }
+        return ticks;
+    }
+
+    @Test
+    public void newAlertPlaysStraightAway() {
+        assertSame(AlertType.IDLE, scheduler.update(100, AlertType.IDLE.bit()));
+        assertNull(scheduler.update(101, AlertType.IDLE.bit()));
+    }
+
+    @Test
+    public void repeatsSoonerEachTimeDownToTheFloor() {
+        // Low HP has a cooldown of 4: gaps of 4, 3, then never less than 2
+        List<Integer> ticks = playedTicks(AlertType.HP, AlertType.HP.bit(), 0, 20);
+        assertEquals(Arrays.asList(0, 4, 7, 9, 11, 13, 15, 17, 19), ticks);
+    }
+
+    @Test
+    public void floorAppliesToLongCooldowns() {
+        // Inventory has a cooldown of 10 and needs eight repeats to reach the floor
+        List<Integer> ticks = playedTicks(AlertType.INVENTORY, AlertType.INVENTORY.bit(), 0, 80);
+        int[] expectedGaps = { 10, 9, 8, 7, 6, 5, 4, 3, 2, 2, 2 };
+        for (int i = 0; i < expectedGaps.length; i++) {
+            assertEquals("gap " + i, expectedGaps[i], ticks.get(i + 1) - ticks.get(i));
+        }
+    }
+
+    @Test
+    public void keepsTimeAcrossWheelWraparound() {
+        // Starts just before a wheel boundary and runs many times around it
+        int start = 32 * 1000 - 3;
+        List<Integer> ticks = playedTicks(AlertType.BOOST, AlertType.BOOST.bit(), start, start + 200);
+        int expected = start;
+        int repeats = 0;
+        for (int tick : ticks) {
+            assertEquals(expected, tick);
+            expected += Math.max(2, AlertType.BOOST.getCooldownTicks() - repeats++);
+        }
+        // Gaps of 10 down to 3 add up to 52 ticks, then it repeats every 2 ticks to the end
+        assertEquals(start + 200, (int) ticks.get(ticks.size() - 1));
+    }
+
+    @Test
+    public void catchesUpOnSkippedTicks() {
+        assertSame(AlertType.IDLE, scheduler.update(30, AlertType.IDLE.bit()));
+        // Idle repeats after 5 ticks; the worker only sees tick 37, across the wheel boundary
+        assertSame(AlertType.IDLE, scheduler.update(37, AlertType.IDLE.bit()));
+    }
+
+    @Test
+    public void alertStartingOnASecondUpdateForTheSameTickPlays() {
+        assertNull(scheduler.update(40, 0));
+        assertSame(AlertType.IDLE, scheduler.update(40, AlertType.IDLE.bit()));
+        // And is not played again by a third update
+        assertNull(scheduler.update(40, AlertType.IDLE.bit()));
+        assertNull(scheduler.update(41, AlertType.IDLE.bit()));
+    }
+
+    @Test
+    public void higherPriorityPlaysFirstAndTheOtherWaits() {
+        int mask = AlertType.HP.bit() | AlertType.IDLE.bit();
+        assertSame(AlertType.HP, scheduler.update(0, mask));
+        assertSame(AlertType.IDLE, scheduler.update(1, mask));
+        assertNull(scheduler.update(2, mask));
+    }
+
+    @Test
+    public void clearedAlertStopsAndStartsOverFromItsCooldown() {
+        playedTicks(AlertType.HP, AlertType.HP.bit(), 0, 20);
+        assertNull(scheduler.update(21, 0));
+        assertNull(scheduler.update(22, 0));
+
+        List<Integer> ticks = playedTicks(AlertType.HP, AlertType.HP.bit(), 23, 30);
+        assertEquals(Arrays.asList(23, 27, 30), ticks);
+    }
+
+    @Test
+    public void restartsWhenTheTickCounterGoesBack() {
+        playedTicks(AlertType.HP, AlertType.HP.bit(), 500, 520);
+        assertSame(AlertType.HP, scheduler.update(0, AlertType.HP.bit()));
+    }
+}
@@ -0,0 +1,183 @@
+package com.afkoverlay;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AlertSoundPlayerTest {
+    private static final int SAMPLE_RATE = (int) AlertSoundPlayer.FORMAT.getSampleRate();
+
+    private final FakeSink sink = new FakeSink();
+    private AlertSoundPlayer player;
+
+    private void start(long idleReleaseMs) {
+        player = new AlertSoundPlayer(sink, idleReleaseMs);
+        player.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (player != null) {
+            player.stop();
+        }
+    }
+
+    @Test
+    public void playsEachTypesTonePattern() throws InterruptedException {
+        start(0);
+        player.setVolume(100);
+        for (AlertType type : AlertType.values()) {
+            player.play(type);
+            short[] samples = sink.next();
+            assertNotNull(type.name(), samples);
+
+            int[] tones = type.getTones();
+            int offset = 0;
+            for (int i = 0; i < tones.length; i += 2) {
+                int length = tones[i + 1] * SAMPLE_RATE / 1000;
+                int crossings = countZeroCrossings(samples, offset, length);
+                // A sine crosses zero twice per cycle
+                int expected = tones[i] * tones[i + 1] * 2 / 1000;
+                assertEquals(type.name() + " tone " + i / 2, expected, crossings, 2);
+                offset += length;
+            }
+            assertEquals(type.name(), offset, samples.length);
+        }
+    }
+
+    @Test
+    public void scalesSamplesByVolume() throws InterruptedException {
+        start(0);
+        player.setVolume(100);
+        player.play(AlertType.IDLE);
+        short[] full = sink.next();
+
+        player.setVolume(25);
+        player.play(AlertType.IDLE);
+        short[] quiet = sink.next();
+
+        assertEquals(full.length, quiet.length);
+        short peak = 0;
+        for (int i = 0; i < full.length; i++) {
+            assertEquals(full[i] * 25 / 100, quiet[i]);
+            peak = (short) Math.max(peak, full[i]);
+        }
+        assertTrue(peak > Short.MAX_VALUE / 2);
+    }
+
+    @Test
+    public void staysSilentAtZeroVolume() throws InterruptedException {
+        start(0);
+        player.setVolume(0);
+        player.play(AlertType.HP);
+        assertNull(sink.writes.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void keepsTheSinkOpenByDefault() throws InterruptedException {
+        player = new AlertSoundPlayer(sink);
+        player.start();
+        player.setVolume(100);
+        player.play(AlertType.INVENTORY);
+        assertNotNull(sink.next());
+
+        Thread.sleep(200);
+        assertEquals(0, sink.releases.get());
+    }
+
+    @Test
+    public void releasesTheSinkWhenIdle() throws InterruptedException {
+        start(50);
+        player.setVolume(100);
+        player.play(AlertType.INVENTORY);
+        assertNotNull(sink.next());
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (sink.releases.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, sink.releases.get());
+
+        // Nothing more is released until something plays again
+        Thread.sleep(200);
+        assertEquals(1, sink.releases.get());
+    }
+
+    @Test
+    public void keepsPlayingAfterAFailedAlert() throws InterruptedException {
+        start(0);
+        player.setVolume(100);
+        sink.failures.set(1);
+        player.play(AlertType.HP);
+        player.play(AlertType.IDLE);
+
+        // The failed HP alert is skipped and the idle alert after it, a single 250 ms tone, plays
+        short[] samples = sink.next();
+        assertNotNull(samples);
+        assertEquals(250 * SAMPLE_RATE / 1000, samples.length);
+        assertEquals(1, sink.closes.get());
+    }
+
+    private static int countZeroCrossings(short[] samples, int offset, int length) {
+        int crossings = 0;
+        int previous = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int sign = Integer.signum(samples[i]);
+            if (sign != 0) {
+                if (previous != 0 && sign != previous) {
+                    crossings++;
+                }
+                previous = sign;
+            }
+        }
+        return crossings;
+    }
+
+    private static class FakeSink implements AudioSink {
+        private final BlockingQueue<byte[]> writes = new LinkedBlockingQueue<>();
+        private final AtomicInteger releases = new AtomicInteger();
+        private final AtomicInteger closes = new AtomicInteger();
+        // Writes that throw before the sink works again
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void write(byte[] data, int length) {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("Line lost");
+            }
+            writes.add(Arrays.copyOf(data, length));
+        }
+
+        @Override
+        public void release() {
+            releases.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+            closes.incrementAndGet();
+        }
+
+        short[] next() throws InterruptedException {
+            byte[] data = writes.poll(2, TimeUnit.SECONDS);
+            if (data == null) {
+                return null;
+            }
+            short[] samples = new short[data.length / 2];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = (short) (data[i * 2] & 0xFF | data[i * 2 + 1] << 8);
+            }
+            return samples;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.afkoverlay;
+
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class BoostTrackerTest {
+    private static final int ATTACK = Skill.ATTACK.ordinal();
+    private static final long ATTACK_BIT = 1L << ATTACK;
+    private static final int LEAD = BoostTracker.MIN_LEAD_TICKS;
+
+    private final BoostTracker tracker = new BoostTracker();
+    private final int[] boosted = new int[SkillLevels.SKILLS.length];
+    private final int[] real = new int[SkillLevels.SKILLS.length];
+
+    /**
+     * Boosts attack by the given levels at the start tick, lets it decay like the game does
+     * and returns the ticks the alert was up on.
+     */
+    private List<Integer> drinkAndWait(int start, int levels, int margin, int last) {
+        real[ATTACK] = 90;
+        boosted[ATTACK] = 90 + levels;
+        tracker.update(start, ATTACK_BIT, boosted, real, margin, LEAD);
+
+        List<Integer> alerting = new ArrayList<>();
+        if (tracker.isAlerting()) {
+            alerting.add(start);
+        }
+        for (int tick = start + 1; tick <= last; tick++) {
+            long changed = 0;
+            if ((tick - start) % BoostTracker.RESTORE_INTERVAL_TICKS == 0 && boosted[ATTACK] > real[ATTACK]) {
+                boosted[ATTACK]--;
+                changed = ATTACK_BIT;
+            }
+            tracker.update(tick, changed, boosted, real, margin, LEAD);
+            if (tracker.isAlerting()) {
+                alerting.add(tick);
+            }
+        }
+        return alerting;
+    }
+
+    private static List<Integer> range(int first, int count) {
+        List<Integer> ticks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ticks.add(first + i);
+        }
+        return ticks;
+    }
+
+    @Test
+    public void predictsExpiry() {
+        real[ATTACK] = 90;
+        boosted[ATTACK] = 95;
+        tracker.update(0, ATTACK_BIT, boosted, real, 1, LEAD);
+        assertEquals(Skill.ATTACK, tracker.getSoonestSkill());
+        assertEquals(5, tracker.getSoonestBoost());
+        assertEquals(500, tracker.getSoonestExpiryTicks());
+    }
+
+    @Test
+    public void warnsOnceBeforeTheBoostRunsOutAndThenStaysQuiet() {
+        List<Integer> alerting = drinkAndWait(0, 5, 1, 3000);
+
+        // The last level goes at tick 500; the alert comes up the lead time before and only once
+        int raised = 500 - LEAD;
+        assertEquals(range(raised, AlertType.BOOST.getCooldownTicks()), alerting);
+        assertNull(tracker.getSoonestSkill());
+        assertFalse(tracker.isAlerting());
+    }
+
+    @Test
+    public void warnsBeforeFallingBelowALargerMargin() {
+        // With a margin of 3 the boost falls below it when the third level is left, at tick 300
+        List<Integer> alerting = drinkAndWait(0, 5, 3, 1000);
+        assertEquals(range(300 - LEAD, AlertType.BOOST.getCooldownTicks()), alerting);
+    }
+
+    @Test
+    public void boostBelowTheMarginNeverAlerts() {
+        assertEquals(Arrays.asList(), drinkAndWait(0, 2, 3, 1000));
+    }
+
+    @Test
+    public void anotherDoseWarnsAgain() {
+        drinkAndWait(0, 5, 1, 1000);
+        List<Integer> alerting = drinkAndWait(1000, 5, 1, 2000);
+        assertEquals(range(1500 - LEAD, AlertType.BOOST.getCooldownTicks()), alerting);
+    }
+
+    @Test
+    public void resetForgetsBoosts() {
+        real[ATTACK] = 90;
+        boosted[ATTACK] = 95;
+        tracker.update(0, ATTACK_BIT, boosted, real, 1, LEAD);
+        tracker.reset();
+        assertNull(tracker.getSoonestSkill());
+        assertFalse(tracker.isAlerting());
+    }
+}
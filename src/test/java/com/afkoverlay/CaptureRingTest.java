@@ -0,0 +1,95 @@
+package com.afkoverlay;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CaptureRingTest {
+    private final CaptureRing ring = new CaptureRing(4);
+    private final TickCapture capture = new TickCapture();
+    private final TickCapture target = new TickCapture();
+
+    private void offer(int tick) {
+        capture.setTickCount(tick);
+        capture.setCharacterName("Tick " + tick);
+        ring.offer(capture);
+    }
+
+    private int take() throws InterruptedException {
+        ring.take(target);
+        return target.getTickCount();
+    }
+
+    @Test
+    public void handsOverInOrder() throws InterruptedException {
+        for (int tick = 1; tick <= 3; tick++) {
+            offer(tick);
+        }
+        assertEquals(1, take());
+        assertEquals("Tick 1", target.getCharacterName());
+        assertEquals(2, take());
+        assertEquals(3, take());
+        assertEquals(0, ring.getDropped());
+    }
+
+    @Test
+    public void dropsTheOldestWhenFull() throws InterruptedException {
+        for (int tick = 1; tick <= 10; tick++) {
+            offer(tick);
+        }
+        assertEquals(6, ring.getDropped());
+        for (int tick = 7; tick <= 10; tick++) {
+            assertEquals(tick, take());
+            assertEquals("Tick " + tick, target.getCharacterName());
+        }
+
+        // Keeps going after wrapping around the slots
+        offer(11);
+        offer(12);
+        assertEquals(11, take());
+        assertEquals(12, take());
+        assertEquals(6, ring.getDropped());
+    }
+
+    @Test
+    public void copiesRatherThanKeepingTheCapture() throws InterruptedException {
+        offer(1);
+        capture.setTickCount(99); // The client thread reuses its capture
+        assertEquals(1, take());
+    }
+
+    @Test
+    public void takeWaitsForAnOffer() throws InterruptedException {
+        CountDownLatch taken = new CountDownLatch(1);
+        TickCapture received = new TickCapture();
+        Thread worker = new Thread(() -> {
+            try {
+                ring.take(received);
+                taken.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        worker.start();
+
+        assertFalse(taken.await(100, TimeUnit.MILLISECONDS));
+        offer(5);
+        assertTrue(taken.await(2, TimeUnit.SECONDS));
+        assertEquals(5, received.getTickCount());
+        worker.join();
+    }
+
+    @Test
+    public void clearDiscardsPendingCaptures() throws InterruptedException {
+        offer(1);
+        offer(2);
+        ring.clear();
+        offer(3);
+        assertEquals(3, take());
+    }
+}
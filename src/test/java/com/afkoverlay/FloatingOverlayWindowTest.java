@@ -0,0 +1,66 @@
+package com.afkoverlay;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.SwingUtilities;
+import java.awt.GraphicsEnvironment;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+public class FloatingOverlayWindowTest {
+    private boolean showHp = true;
+    private final AFKOverlayConfig config = new AFKOverlayConfig() {
+        @Override
+        public boolean showHp() {
+            return showHp;
+        }
+    };
+    private final ProfileStore profileStore = new ProfileStore();
+    private FloatingOverlayWindow window;
+
+    @Before
+    public void setUp() {
+        // The window is a real frame, so it needs a display
+        assumeFalse(GraphicsEnvironment.isHeadless());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (window != null) {
+            SwingUtilities.invokeAndWait(window::dispose);
+        }
+    }
+
+    private boolean isHpShown() throws Exception {
+        boolean[] shown = new boolean[1];
+        SwingUtilities.invokeAndWait(() -> shown[0] = window.getRowLabel(OverlayProfile.ROW_HP).isVisible());
+        return shown[0];
+    }
+
+    private void toggleHp(OverlayProfile profile, boolean show) throws Exception {
+        // What the plugin does when the option changes while logged in
+        showHp = show;
+        profileStore.update(null, profile, p -> p.applyConfigChange("showHp", config));
+        SwingUtilities.invokeAndWait(window::updateConfig);
+    }
+
+    @Test
+    public void rowToggleReachesTheWindowWhileLoggedIn() throws Exception {
+        OverlayProfile profile = profileStore.create("Tester", OverlayProfile.rowMaskFromConfig(config), AlertThresholds.fromConfig(config));
+        SwingUtilities.invokeAndWait(() -> {
+            window = new FloatingOverlayWindow(config, null, profileStore, new AlertHistory());
+            window.applyProfile(profile);
+        });
+        assertTrue(isHpShown());
+
+        toggleHp(profile, false);
+        assertFalse(isHpShown());
+
+        toggleHp(profile, true);
+        assertTrue(isHpShown());
+    }
+}
@@ -0,0 +1,119 @@
+package com.afkoverlay;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntIntMapTest {
+    // A map sized for four entries has eight slots
+    private static final int SLOTS = 8;
+
+    /**
+     * Returns keys that all probe from the same home slot.
+     */
+    private static int[] collidingKeys(int slot, int count) {
+        int[] keys = new int[count];
+        int found = 0;
+        for (int key = 0; found < count; key++) {
+            int h = key * 0x9E3779B9;
+            if (((h ^ (h >>> 16)) & (SLOTS - 1)) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    public void missingKeyReadsAsZero() {
+        IntIntMap map = new IntIntMap(4);
+        assertEquals(0, map.get(7));
+        map.add(7, 3);
+        map.add(7, 2);
+        assertEquals(5, map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void removesKeyAtZero() {
+        IntIntMap map = new IntIntMap(4);
+        map.add(7, 3);
+        map.add(7, -3);
+        assertEquals(0, map.get(7));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void removalKeepsTheRestOfTheClusterReachable() {
+        // Home slot at the end of the table, so the cluster wraps around to the start
+        int[] keys = collidingKeys(SLOTS - 1, 4);
+        IntIntMap map = new IntIntMap(4);
+        for (int i = 0; i < keys.length; i++) {
+            map.add(keys[i], i + 1);
+        }
+
+        map.add(keys[0], -1);
+        assertEquals(0, map.get(keys[0]));
+        for (int i = 1; i < keys.length; i++) {
+            assertEquals(i + 1, map.get(keys[i]));
+        }
+        assertEquals(3, map.size());
+
+        // Removing from the middle of the remaining cluster
+        map.add(keys[2], -3);
+        assertEquals(2, map.get(keys[1]));
+        assertEquals(4, map.get(keys[3]));
+        assertEquals(2, map.size());
+
+        // The freed slots are reused
+        map.add(keys[0], 9);
+        map.add(keys[2], 8);
+        assertEquals(9, map.get(keys[0]));
+        assertEquals(8, map.get(keys[2]));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void removalKeepsOtherClustersReachable() {
+        // Entries from a neighbouring home slot end up in the same run of slots
+        int[] first = collidingKeys(2, 2);
+        int[] second = collidingKeys(3, 2);
+        IntIntMap map = new IntIntMap(4);
+        map.add(first[0], 1);
+        map.add(first[1], 2);
+        map.add(second[0], 3);
+        map.add(second[1], 4);
+
+        map.add(first[0], -1);
+        assertEquals(2, map.get(first[1]));
+        assertEquals(3, map.get(second[0]));
+        assertEquals(4, map.get(second[1]));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void matchesHashMapUnderRandomChanges() {
+        Random random = new Random(42);
+        IntIntMap map = new IntIntMap(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(64);
+            int delta = random.nextInt(5) - 2;
+            map.add(key, delta);
+            int value = expected.getOrDefault(key, 0) + delta;
+            if (value == 0) {
+                expected.remove(key);
+            } else {
+                expected.put(key, value);
+            }
+        }
+
+        for (int key = 0; key < 64; key++) {
+            assertEquals(expected.getOrDefault(key, 0).intValue(), map.get(key));
+        }
+        assertEquals(expected.size(), map.size());
+    }
+}
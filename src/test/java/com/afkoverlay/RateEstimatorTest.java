@@ -0,0 +1,89 @@
+package com.afkoverlay;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RateEstimatorTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void needsEnoughSamples() {
+        RateEstimator estimator = new RateEstimator(100);
+        for (int tick = 0; tick < 9; tick++) {
+            estimator.add(tick, tick * 2);
+        }
+        assertEquals(0, estimator.getSlopePerTick(), DELTA);
+        assertEquals(-1, estimator.ticksUntil(100));
+
+        estimator.add(9, 18);
+        assertEquals(2, estimator.getSlopePerTick(), DELTA);
+    }
+
+    @Test
+    public void fitsNoisySamples() {
+        RateEstimator estimator = new RateEstimator(100);
+        for (int tick = 0; tick < 50; tick++) {
+            // Falls by 1 per tick, with alternating noise that cancels out
+            estimator.add(tick, 1000 - tick + (tick % 2 == 0 ? 3 : -3));
+        }
+        assertEquals(-1, estimator.getSlopePerTick(), 0.05);
+    }
+
+    @Test
+    public void predictsTicksUntilTarget() {
+        RateEstimator estimator = new RateEstimator(100);
+        for (int tick = 0; tick <= 20; tick++) {
+            estimator.add(tick, 99 - tick * 3);
+        }
+        // Latest value is 39, falling by 3 per tick
+        assertEquals(10, estimator.ticksUntil(10));
+        assertEquals(-1, estimator.ticksUntil(50));
+    }
+
+    @Test
+    public void forgetsSamplesOutsideTheWindow() {
+        RateEstimator estimator = new RateEstimator(20);
+        for (int tick = 0; tick < 20; tick++) {
+            estimator.add(tick, tick * 5);
+        }
+        // Flat from here on; once the window has moved past the rise, the slope is 0
+        for (int tick = 20; tick < 40; tick++) {
+            estimator.add(tick, 100);
+        }
+        assertEquals(0, estimator.getSlopePerTick(), DELTA);
+    }
+
+    @Test
+    public void ignoresRepeatedTicks() {
+        RateEstimator estimator = new RateEstimator(100);
+        for (int tick = 0; tick < 20; tick++) {
+            estimator.add(tick, tick);
+            estimator.add(tick, 500);
+        }
+        assertEquals(1, estimator.getSlopePerTick(), DELTA);
+    }
+
+    @Test
+    public void restartsWhenTheTickCounterGoesBack() {
+        RateEstimator estimator = new RateEstimator(100);
+        for (int tick = 1000; tick < 1020; tick++) {
+            estimator.add(tick, tick);
+        }
+        for (int tick = 0; tick < 5; tick++) {
+            estimator.add(tick, 0);
+        }
+        // Only the five new samples remain, which is too few
+        assertEquals(0, estimator.getSlopePerTick(), DELTA);
+    }
+
+    @Test
+    public void keepsExactSumsAtLargeTicks() {
+        RateEstimator estimator = new RateEstimator(50);
+        int start = 2_000_000_000;
+        for (int i = 0; i < 200; i++) {
+            estimator.add(start + i, 70 + i);
+        }
+        assertEquals(1, estimator.getSlopePerTick(), DELTA);
+    }
+}
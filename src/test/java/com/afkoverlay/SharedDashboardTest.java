@@ -0,0 +1,172 @@
+package com.afkoverlay;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SharedDashboardTest {
+    private File file;
+    private SharedDashboard writer;
+    private SharedDashboard reader;
+    private final PlayerInfo[] targets = new PlayerInfo[SharedDashboard.MAX_SLOTS];
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("afkoverlay-dashboard", ".dat");
+        writer = SharedDashboard.open(file);
+        reader = SharedDashboard.open(file);
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = new PlayerInfo();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        writer.close();
+        reader.close();
+        file.delete();
+    }
+
+    private static PlayerInfo player(String name, int hp) {
+        PlayerInfo info = new PlayerInfo();
+        info.setCharacterName(name);
+        info.setCurrentHp(hp);
+        info.setMaxHp(99);
+        info.setCurrentPrayer(43);
+        info.setMaxPrayer(70);
+        info.setInventoryUsedSlots(27);
+        info.setIdle(true);
+        info.setIdleState(IdleState.LOGOUT_IMMINENT);
+        info.setLogoutSecondsRemaining(30);
+        return info;
+    }
+
+    private int read() {
+        return reader.read(targets, System.currentTimeMillis());
+    }
+
+    @Test
+    public void readsPublishedSnapshot() throws IOException {
+        assertTrue(writer.claimSlot());
+        writer.publish(player("Zezima the Great", 55));
+
+        assertEquals(1, read());
+        PlayerInfo info = targets[0];
+        assertEquals("Zezima the G", info.getCharacterName()); // Names are cut to 12 characters
+        assertEquals(55, info.getCurrentHp());
+        assertEquals(99, info.getMaxHp());
+        assertEquals(43, info.getCurrentPrayer());
+        assertEquals(70, info.getMaxPrayer());
+        assertEquals(27, info.getInventoryUsedSlots());
+        assertTrue(info.isIdle());
+        assertEquals(IdleState.LOGOUT_IMMINENT, info.getIdleState());
+        assertEquals(30, info.getLogoutSecondsRemaining());
+    }
+
+    @Test
+    public void clientsGetTheirOwnSlots() throws IOException {
+        assertTrue(writer.claimSlot());
+        assertTrue(reader.claimSlot());
+        writer.publish(player("First", 10));
+        reader.publish(player("Second", 20));
+
+        assertEquals(2, read());
+        assertEquals("First", targets[0].getCharacterName());
+        assertEquals("Second", targets[1].getCharacterName());
+    }
+
+    @Test
+    public void releasedAndStaleSlotsAreHidden() throws IOException {
+        assertTrue(writer.claimSlot());
+        writer.publish(player("Gone", 10));
+        assertEquals(0, reader.read(targets, System.currentTimeMillis() + SharedDashboard.STALE_MS + 1000));
+
+        writer.releaseSlot();
+        assertEquals(0, read());
+    }
+
+    @Test
+    public void skipsSlotWhileAWriteIsInProgress() throws IOException {
+        assertTrue(writer.claimSlot());
+        writer.publish(player("Busy", 10));
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer raw = channel.map(FileChannel.MapMode.READ_WRITE, 0, SharedDashboard.SLOT_SIZE);
+            raw.order(ByteOrder.nativeOrder());
+            int seq = raw.getInt(SharedDashboard.SEQ);
+
+            // An odd sequence means the owner is mid-write; the reader gives up after its retries
+            raw.putInt(SharedDashboard.SEQ, seq + 1);
+            assertEquals(0, read());
+
+            raw.putInt(SharedDashboard.SEQ, seq + 2);
+            assertEquals(1, read());
+            assertEquals("Busy", targets[0].getCharacterName());
+        }
+    }
+
+    @Test
+    public void recoversSlotLeftMidWrite() throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer raw = channel.map(FileChannel.MapMode.READ_WRITE, 0, SharedDashboard.SLOT_SIZE);
+            raw.order(ByteOrder.nativeOrder());
+            raw.putInt(SharedDashboard.SEQ, 7); // A previous owner died mid-write
+        }
+
+        assertTrue(writer.claimSlot());
+        writer.publish(player("Back", 10));
+        assertEquals(1, read());
+        assertEquals("Back", targets[0].getCharacterName());
+    }
+
+    @Test
+    public void neverReadsATornSnapshot() throws Exception {
+        assertTrue(writer.claimSlot());
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread publisher = new Thread(() -> {
+            PlayerInfo info = player("Writer", 0);
+            for (int i = 0; running.get(); i++) {
+                // Every field carries the same value, so a mixed read shows up as a mismatch
+                info.setCurrentHp(i);
+                info.setMaxHp(i);
+                info.setCurrentPrayer(i);
+                info.setMaxPrayer(i);
+                info.setLogoutSecondsRemaining(i);
+                writer.publish(info);
+            }
+        });
+        publisher.start();
+
+        AtomicInteger reads = new AtomicInteger();
+        try {
+            long end = System.currentTimeMillis() + 300;
+            while (System.currentTimeMillis() < end) {
+                if (read() == 1) {
+                    PlayerInfo info = targets[0];
+                    int hp = info.getCurrentHp();
+                    assertEquals(hp, info.getMaxHp());
+                    assertEquals(hp, info.getCurrentPrayer());
+                    assertEquals(hp, info.getMaxPrayer());
+                    assertEquals(hp, info.getLogoutSecondsRemaining());
+                    reads.incrementAndGet();
+                }
+            }
+        } finally {
+            running.set(false);
+            publisher.join();
+        }
+        assertTrue(reads.get() > 0);
+    }
+}
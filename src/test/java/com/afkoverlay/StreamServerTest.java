@@ -0,0 +1,119 @@
+package com.afkoverlay;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StreamServerTest {
+    private StreamServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new StreamServer(0);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void streamsTheLatestPlayerUpdate() throws IOException {
+        PlayerInfo info = new PlayerInfo();
+        info.setCharacterName("Zezima");
+        info.setCurrentHp(42);
+        server.publishPlayer(info);
+
+        try (Socket socket = connect()) {
+            send(socket, "127.0.0.1:" + server.getPort());
+            String response = readUntil(socket.getInputStream(), "\n\n", "\"hp\":42");
+            assertTrue(response, response.startsWith("HTTP/1.1 200 OK"));
+            assertTrue(response, response.contains("event: player\ndata: {\"name\":\"Zezima\""));
+        }
+    }
+
+    @Test
+    public void rejectsForeignHost() throws IOException {
+        try (Socket socket = connect()) {
+            send(socket, "127.0.0.1.example.com:" + server.getPort());
+            String response = readUntil(socket.getInputStream(), "\r\n\r\n");
+            assertTrue(response, response.startsWith("HTTP/1.1 404"));
+        }
+    }
+
+    @Test
+    public void rejectsWrongPort() throws IOException {
+        try (Socket socket = connect()) {
+            send(socket, "localhost:" + (server.getPort() + 1));
+            String response = readUntil(socket.getInputStream(), "\r\n\r\n");
+            assertTrue(response, response.startsWith("HTTP/1.1 404"));
+        }
+    }
+
+    @Test
+    public void checksHostNames() {
+        assertTrue(StreamServer.isLoopbackHost("localhost", 8765));
+        assertTrue(StreamServer.isLoopbackHost("LocalHost:8765", 8765));
+        assertTrue(StreamServer.isLoopbackHost("[::1]:8765", 8765));
+        assertFalse(StreamServer.isLoopbackHost("::1", 8765));
+        assertFalse(StreamServer.isLoopbackHost("localhost.example.com", 8765));
+        assertFalse(StreamServer.isLoopbackHost("127.0.0.1:", 8765));
+    }
+
+    @Test
+    public void rebindsThePortAfterStop() throws IOException {
+        int port = server.getPort();
+        server.stop();
+        server = new StreamServer(port);
+        server.start();
+        assertEquals(port, server.getPort());
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private static void send(Socket socket, String host) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET " + StreamServer.PATH + " HTTP/1.1\r\nHost: " + host + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    /**
+     * Reads until the response contains every marker, or the stream ends.
+     */
+    private static String readUntil(InputStream in, String... markers) throws IOException {
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (true) {
+            String text = new String(received.toByteArray(), StandardCharsets.UTF_8);
+            boolean complete = true;
+            for (String marker : markers) {
+                complete &= text.contains(marker);
+            }
+            if (complete) {
+                return text;
+            }
+            int read = in.read(buffer);
+            if (read < 0) {
+                return text;
+            }
+            received.write(buffer, 0, read);
+        }
+    }
+}
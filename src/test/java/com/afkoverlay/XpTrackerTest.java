@@ -0,0 +1,89 @@
+package com.afkoverlay;
+
+import net.runelite.api.Skill;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class XpTrackerTest {
+    private static final Skill[] TRAINED = { Skill.ATTACK, Skill.STRENGTH, Skill.DEFENCE, Skill.HITPOINTS, Skill.MAGIC, Skill.RANGED };
+
+    private XpTracker tracker;
+    private final int[] xp = new int[SkillLevels.SKILLS.length];
+
+    @Before
+    public void setUp() {
+        tracker = new XpTracker();
+        for (Skill skill : TRAINED) {
+            xp[skill.ordinal()] = 1000;
+            tracker.onXpChanged(skill, 1000, 0); // Baseline
+        }
+    }
+
+    private void gain(Skill skill, int amount, int tick) {
+        xp[skill.ordinal()] += amount;
+        tracker.onXpChanged(skill, xp[skill.ordinal()], tick);
+    }
+
+    @Test
+    public void baselineIsNotAGain() {
+        tracker.advance(100);
+        assertNull(tracker.getTrainedSkill());
+        assertEquals(0, tracker.getXpPerHour());
+    }
+
+    @Test
+    public void measuresRateFromFirstGain() {
+        for (int tick = 100; tick <= 200; tick++) {
+            gain(Skill.STRENGTH, 10, tick);
+        }
+        tracker.advance(200);
+        assertEquals(Skill.STRENGTH, tracker.getTrainedSkill());
+        // 1010 XP over 100 ticks
+        assertEquals(1010L * 6000 / 100, tracker.getXpPerHour());
+        assertEquals(101L * 6000 / 100, tracker.getActionsPerHour());
+    }
+
+    @Test
+    public void mergesGainsOnTheSameTick() {
+        for (int tick = 1; tick <= 100; tick++) {
+            gain(Skill.ATTACK, 5, tick);
+            gain(Skill.ATTACK, 5, tick);
+        }
+        tracker.advance(100);
+        assertEquals(1000L * 6000 / 99, tracker.getXpPerHour());
+        assertEquals(200L * 6000 / 99, tracker.getActionsPerHour());
+    }
+
+    @Test
+    public void dropsGainsThatLeaveTheWindow() {
+        gain(Skill.DEFENCE, 500, 10);
+        for (int tick = 20; tick <= XpTracker.WINDOW_TICKS + 20; tick++) {
+            gain(Skill.ATTACK, 1, tick);
+        }
+        tracker.advance(XpTracker.WINDOW_TICKS + 20);
+        assertEquals(Skill.ATTACK, tracker.getTrainedSkill());
+
+        tracker.advance(XpTracker.WINDOW_TICKS * 3);
+        assertNull(tracker.getTrainedSkill());
+    }
+
+    @Test
+    public void saturatedRingMeasuresFromRemainingGains() {
+        // Six skills on every tick fill the ring before the oldest gains leave the window
+        int last = XpTracker.WINDOW_TICKS * 5 / 6;
+        for (int tick = 1; tick <= last; tick++) {
+            gain(Skill.ATTACK, 20, tick);
+            for (int i = 1; i < TRAINED.length; i++) {
+                gain(TRAINED[i], 10, tick);
+            }
+        }
+        tracker.advance(last);
+
+        // 20 XP per tick is 120k per hour, however many old gains were dropped
+        assertEquals(Skill.ATTACK, tracker.getTrainedSkill());
+        assertEquals(120000, tracker.getXpPerHour(), 120000 / 100);
+    }
+}